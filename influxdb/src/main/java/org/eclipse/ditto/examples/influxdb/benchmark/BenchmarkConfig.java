@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.benchmark;
+
+import java.io.IOException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import com.influxdb.client.InfluxDBClient;
+import com.influxdb.client.InfluxDBClientFactory;
+
+/**
+ * Replaces InfluxDB by an {@link InfluxDBStub} in the {@code benchmark} profile.
+ */
+@Configuration
+@Profile("benchmark")
+public class BenchmarkConfig {
+
+  @Value("${benchmark.influxdb.latency-ms:2}")
+  long latencyMs;
+
+  @Value("${benchmark.influxdb.threads:0}")
+  int threads;
+
+  @Bean(destroyMethod = "stop")
+  public InfluxDBStub influxDBStub() throws IOException {
+    return new InfluxDBStub(latencyMs, threads);
+  }
+
+  @Bean(destroyMethod = "close")
+  public InfluxDBClient getInfluxDBClient(InfluxDBStub stub) {
+    return InfluxDBClientFactory.create(stub.getUrl(), "benchmark".toCharArray(), "benchmark", "benchmark");
+  }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/**
+ * Emits features changes of {@code benchmark.things} simulated devices at {@code benchmark.rate} changes per second
+ * through the change handler of {@code DittoService}, see {@link SimulatedDitto}, and measures how many points arrive
+ * at the {@link InfluxDBStub}. Everything but the WebSocket connection to Ditto is therefore measured, from turning the
+ * change into an update and skipping duplicate revisions to writing the points.
+ * <p>
+ * After a warm-up of {@code benchmark.warmup-s} seconds, the throughput, garbage collections and the peak number of
+ * live platform threads are measured for {@code benchmark.duration-s} seconds. The threads include those of the stub,
+ * which handles each concurrent write on a thread of its own unless {@code benchmark.influxdb.threads} limits them,
+ * so only the difference between runs with the same load is attributable to the bridge.
+ */
+@Component
+@Profile("benchmark")
+public class BenchmarkRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(BenchmarkRunner.class);
+
+  @Autowired
+  SimulatedDitto ditto;
+
+  @Autowired
+  InfluxDBStub stub;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Value("${benchmark.rate:20000}")
+  long rate;
+
+  @Value("${benchmark.things:1000}")
+  int things;
+
+  @Value("${benchmark.warmup-s:5}")
+  long warmupSeconds;
+
+  @Value("${benchmark.duration-s:30}")
+  long durationSeconds;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @return a one line summary of the results.
+   */
+  public String run() {
+    long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+    long start = System.nanoTime();
+    long measurementStart = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+    long end = measurementStart + TimeUnit.SECONDS.toNanos(durationSeconds);
+    long pointsBefore = -1;
+    long gcCountBefore = 0;
+    long gcTimeBefore = 0;
+    long changesBefore = 0;
+    long changes = 0;
+    logger.info("Emitting {} changes/s of {} things for {} s after a warm-up of {} s", rate, things,
+        durationSeconds, warmupSeconds);
+    for (long now = start; now < end; now = System.nanoTime()) {
+      if (pointsBefore < 0 && now >= measurementStart) {
+        pointsBefore = stub.getPoints();
+        gcCountBefore = gcCount();
+        gcTimeBefore = gcTimeMs();
+        changesBefore = changes;
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+      }
+      long due = start + changes * intervalNanos;
+      if (due > now) {
+        LockSupport.parkNanos(due - now);
+        continue;
+      }
+      emitChange(changes);
+      changes++;
+    }
+    long points = stub.getPoints() - pointsBefore;
+    long gcCount = gcCount() - gcCountBefore;
+    long gcTime = gcTimeMs() - gcTimeBefore;
+    return String.format("offered %d changes/s, wrote %d points/s, lag p50 %s p99 %s, "
+            + "write latency p50 %s p99 %s, %d GCs taking %d ms, %d live threads at most",
+        (changes - changesBefore) / durationSeconds, points / durationSeconds,
+        percentile("bridge.write.lag", 0.5), percentile("bridge.write.lag", 0.99),
+        percentile("bridge.write.latency", 0.5), percentile("bridge.write.latency", 0.99), gcCount, gcTime,
+        ManagementFactory.getThreadMXBean().getPeakThreadCount());
+  }
+
+  private void emitChange(long sequence) {
+    double phase = sequence % 3600 / 3600.0 * 2 * Math.PI;
+    JsonObject features = JsonFactory.newObjectBuilder()
+        .set("temperature", property(20 + 5 * Math.sin(phase)))
+        .set("humidity", property(60 + 20 * Math.cos(phase)))
+        .set("pressure", property(1013 + sequence % 10))
+        .build();
+    ditto.emit("org.acme:device-" + sequence % things, features, sequence / things + 1, Instant.now());
+  }
+
+  private static JsonObject property(double value) {
+    return JsonFactory.newObjectBuilder()
+        .set("properties", JsonFactory.newObjectBuilder().set("value", value).build())
+        .build();
+  }
+
+  private String percentile(String timerName, double percentile) {
+    Timer timer = meterRegistry.find(timerName).timer();
+    if (timer != null) {
+      for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+        if (value.percentile() == percentile) {
+          return String.format("%.1f ms", value.value(TimeUnit.MILLISECONDS));
+        }
+      }
+    }
+    return "n/a";
+  }
+
+  private static long gcCount() {
+    long count = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      count += Math.max(0, gc.getCollectionCount());
+    }
+    return count;
+  }
+
+  private static long gcTimeMs() {
+    long time = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      time += Math.max(0, gc.getCollectionTime());
+    }
+    return time;
+  }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.ditto.examples.influxdb.Application;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Runs the bridge against an {@link InfluxDBStub} with simulated changes, once per writer configuration, and logs the
+ * results of all runs at the end. Nothing but the loopback interface is used.
+ * <p>
+ * Each argument is a configuration of comma separated properties, e.g.
+ * {@code influxdb.writer.batch-size=500,influxdb.writer.max-in-flight-batches=1}. Without arguments a few batch sizes
+ * and concurrencies are compared, including many concurrent writes to a remote InfluxDB, simulated by a latency of
+ * 50 ms, on platform and on virtual threads, which are only available on Java 21 or newer. The load is configured by the {@code benchmark.*} properties, see
+ * {@code application-benchmark.properties}.
+ */
+public final class BridgeBenchmark {
+
+  private static final Logger logger = LoggerFactory.getLogger(BridgeBenchmark.class);
+
+  private static final List<String> DEFAULT_CONFIGURATIONS = Arrays.asList(
+      "influxdb.writer.batch-size=500,influxdb.writer.max-in-flight-batches=1",
+      "influxdb.writer.batch-size=5000,influxdb.writer.max-in-flight-batches=1",
+      "influxdb.writer.batch-size=5000,influxdb.writer.max-in-flight-batches=4",
+      "influxdb.writer.batch-size=500,influxdb.writer.max-in-flight-batches=256,influxdb.virtual-threads=false,"
+          + "benchmark.influxdb.latency-ms=50",
+      "influxdb.writer.batch-size=500,influxdb.writer.max-in-flight-batches=256,influxdb.virtual-threads=true,"
+          + "benchmark.influxdb.latency-ms=50");
+
+  private BridgeBenchmark() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    List<String> configurations = args.length > 0 ? Arrays.asList(args) : DEFAULT_CONFIGURATIONS;
+    List<String> results = new ArrayList<>();
+    for (String configuration : configurations) {
+      String[] properties = Arrays.stream(configuration.split(","))
+          .map(String::trim)
+          .filter(property -> !property.isEmpty())
+          .map(property -> "--" + property)
+          .toArray(String[]::new);
+      try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+          .profiles("benchmark")
+          .web(WebApplicationType.NONE)
+          .run(properties)) {
+        results.add(configuration + ": " + context.getBean(BenchmarkRunner.class).run());
+      }
+    }
+    results.forEach(logger::info);
+  }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-in for the write and health endpoints of InfluxDB 2, which counts the received points instead of
+ * storing them. Each write can be delayed to simulate the latency of a remote InfluxDB.
+ */
+public final class InfluxDBStub {
+
+  private static final byte[] HEALTH = "{\"name\":\"influxdb\",\"status\":\"pass\"}".getBytes(StandardCharsets.UTF_8);
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final long latencyMs;
+  private final AtomicLong points = new AtomicLong();
+  private final AtomicLong writes = new AtomicLong();
+
+  /**
+   * Starts the stub on an ephemeral port of the loopback interface.
+   *
+   * @param latencyMs the delay of each write.
+   * @param threads the number of writes handled concurrently, or 0 to handle every write on a thread of its own, so
+   * that the stub does not limit the concurrency of the bridge.
+   */
+  public InfluxDBStub(long latencyMs, int threads) throws IOException {
+    this.latencyMs = latencyMs;
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/api/v2/write", this::handleWrite);
+    server.createContext("/health", this::handleHealth);
+    ThreadFactory threadFactory = runnable -> {
+      Thread thread = new Thread(runnable, "influxdb-stub");
+      thread.setDaemon(true);
+      return thread;
+    };
+    executor = threads > 0
+        ? Executors.newFixedThreadPool(threads, threadFactory)
+        : Executors.newCachedThreadPool(threadFactory);
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  public String getUrl() {
+    return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+  }
+
+  /**
+   * @return the number of points received so far.
+   */
+  public long getPoints() {
+    return points.get();
+  }
+
+  /**
+   * @return the number of write requests received so far.
+   */
+  public long getWrites() {
+    return writes.get();
+  }
+
+  private void handleWrite(HttpExchange exchange) throws IOException {
+    long lines = 0;
+    int last = '\n';
+    try (InputStream body = exchange.getRequestBody()) {
+      byte[] chunk = new byte[8192];
+      int read;
+      while ((read = body.read(chunk)) > 0) {
+        for (int i = 0; i < read; i++) {
+          if (chunk[i] == '\n') {
+            lines++;
+          }
+        }
+        last = chunk[read - 1];
+      }
+    }
+    if (last != '\n') {
+      lines++;
+    }
+    if (latencyMs > 0) {
+      try {
+        Thread.sleep(latencyMs);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    points.addAndGet(lines);
+    writes.incrementAndGet();
+    exchange.sendResponseHeaders(204, -1);
+    exchange.close();
+  }
+
+  private void handleHealth(HttpExchange exchange) throws IOException {
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, HEALTH.length);
+    try (OutputStream body = exchange.getResponseBody()) {
+      body.write(HEALTH);
+    }
+  }
+
+  public void stop() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+}
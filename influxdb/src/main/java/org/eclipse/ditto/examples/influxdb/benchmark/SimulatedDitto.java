@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.benchmark;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import org.eclipse.ditto.client.DittoClient;
+import org.eclipse.ditto.client.changes.ChangeAction;
+import org.eclipse.ditto.client.changes.FeaturesChange;
+import org.eclipse.ditto.examples.influxdb.config.DittoConfig;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.model.things.Features;
+import org.eclipse.ditto.model.things.ThingId;
+import org.eclipse.ditto.model.things.ThingsModelFactory;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+/**
+ * Replaces the connections to Ditto in the {@code benchmark} profile by clients which only record the change handlers
+ * that {@code DittoService} registers, so that simulated changes pass through the same handler as changes received
+ * from Ditto. The clients answer every request, e.g. the probe of the connection, with an empty result.
+ */
+@Service
+@Primary
+@Profile("benchmark")
+public class SimulatedDitto extends DittoConfig {
+
+  private volatile Consumer<FeaturesChange> featuresHandler;
+
+  @Override
+  public DittoClient newClient(String namespace) {
+    Class<?> twinType = returnTypeOf(DittoClient.class, "twin");
+    Object twin = proxy(twinType, (method, args) -> {
+      switch (method.getName()) {
+        case "registerForFeaturesChanges":
+          featuresHandler = handlerOf(args);
+          return null;
+        case "registerForThingChanges":
+          return null;
+        default:
+          return emptyResult(method);
+      }
+    });
+    return (DittoClient) proxy(DittoClient.class, (method, args) -> {
+      if ("twin".equals(method.getName())) {
+        return twin;
+      }
+      return emptyResult(method);
+    });
+  }
+
+  /**
+   * Hands a features change to the handler of the consumed namespace, like the Ditto client does for a change
+   * received from Ditto.
+   *
+   * @param thingId the ID of the changed thing.
+   * @param features the changed features as JSON object.
+   * @param revision the revision of the thing.
+   * @param timestamp the time of the change.
+   */
+  public void emit(String thingId, JsonObject features, long revision, Instant timestamp) {
+    Consumer<FeaturesChange> handler = featuresHandler;
+    if (handler == null) {
+      throw new IllegalStateException("No features handler was registered");
+    }
+    handler.accept(newChange(ThingId.of(thingId), ThingsModelFactory.newFeatures(features), revision, timestamp));
+  }
+
+  private static FeaturesChange newChange(ThingId thingId, Features features, long revision, Instant timestamp) {
+    return (FeaturesChange) proxy(FeaturesChange.class, (method, args) -> {
+      switch (method.getName()) {
+        case "getEntityId":
+          return thingId;
+        case "getFeatures":
+          return features;
+        case "getRevision":
+          return revision;
+        case "getTimestamp":
+          return Optional.of(timestamp);
+        case "getExtra":
+          return Optional.empty();
+        case "getAction":
+          return ChangeAction.UPDATED;
+        default:
+          throw new UnsupportedOperationException(method.getName());
+      }
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Consumer<FeaturesChange> handlerOf(Object[] args) {
+    return (Consumer<FeaturesChange>) args[args.length - 1];
+  }
+
+  private static Object emptyResult(Method method) {
+    if (CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+      return CompletableFuture.completedFuture(null);
+    }
+    if (method.getReturnType() == void.class) {
+      return null;
+    }
+    throw new UnsupportedOperationException(method.getName());
+  }
+
+  private static Class<?> returnTypeOf(Class<?> type, String methodName) {
+    try {
+      return type.getMethod(methodName).getReturnType();
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Object proxy(Class<?> type, Invocation invocation) {
+    return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+      if (method.getDeclaringClass() == Object.class) {
+        switch (method.getName()) {
+          case "equals":
+            return proxy == args[0];
+          case "hashCode":
+            return System.identityHashCode(proxy);
+          default:
+            return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+        }
+      }
+      return invocation.invoke(method, args);
+    });
+  }
+
+  private interface Invocation {
+
+    Object invoke(Method method, Object[] args);
+  }
+
+}
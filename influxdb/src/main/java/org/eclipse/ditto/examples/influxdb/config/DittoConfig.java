@@ -13,7 +13,12 @@
 
 package org.eclipse.ditto.examples.influxdb.config;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 import org.eclipse.ditto.client.DittoClient;
 import org.eclipse.ditto.client.DittoClients;
 import org.eclipse.ditto.client.configuration.BasicAuthenticationConfiguration;
@@ -22,13 +27,25 @@ import org.eclipse.ditto.client.messaging.AuthenticationProvider;
 import org.eclipse.ditto.client.messaging.AuthenticationProviders;
 import org.eclipse.ditto.client.messaging.MessagingProvider;
 import org.eclipse.ditto.client.messaging.MessagingProviders;
+import org.eclipse.ditto.client.options.Option;
 import org.eclipse.ditto.client.options.Options;
+import org.eclipse.ditto.json.JsonFactory;
 import org.eclipse.ditto.model.base.json.JsonSchemaVersion;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Bean;
 import org.springframework.stereotype.Service;
 import com.neovisionaries.ws.client.WebSocket;
 
+/**
+ * Creates the Ditto client connections. Each namespace of {@code ditto.namespaces} is consumed by its own connection.
+ * If the bridge runs as {@code ditto.replica-count} replicas, every namespace is owned by exactly one of them, the one
+ * whose {@code ditto.replica-index} equals the hash of the namespace modulo the replica count, so no change is
+ * processed twice.
+ * <p>
+ * The changes sent by Ditto can be restricted by the RQL filter {@code ditto.consumption.filter} and enriched by the
+ * comma separated JSON pointers {@code ditto.consumption.extra-fields}. As a deleted thing has no features any more, it
+ * would not match a filter on its features, so things without features are always let through for their deletions to
+ * arrive.
+ */
 @Service
 public class DittoConfig {
 
@@ -41,20 +58,78 @@ public class DittoConfig {
   @Value("${ditto.password}")
   String password;
 
-  @Value("${ditto.namespace}")
-  String namespace;
+  @Value("${ditto.namespaces:${ditto.namespace}}")
+  List<String> namespaces;
+
+  @Value("${ditto.replica-count:1}")
+  int replicaCount;
+
+  @Value("${ditto.replica-index:0}")
+  int replicaIndex;
+
+  @Value("${ditto.reconnect.connect-timeout-ms:10000}")
+  long connectTimeoutMs;
+
+  @Value("${ditto.consumption.filter:}")
+  String filter;
+
+  @Value("${ditto.consumption.extra-fields:}")
+  String extraFields;
+
+  /**
+   * @return the namespaces consumed by this replica.
+   */
+  public List<String> getOwnedNamespaces() {
+    return namespaces.stream()
+        .map(String::trim)
+        .filter(namespace -> !namespace.isEmpty())
+        .distinct()
+        .filter(namespace -> Math.floorMod(namespace.hashCode(), replicaCount) == replicaIndex)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * @return the configured RQL filter of the things to persist, or an empty string if all things are persisted.
+   */
+  public String getFilter() {
+    return filter.trim();
+  }
 
-  @Bean
-  public DittoClient dittoClient() throws InterruptedException, ExecutionException {
+  /**
+   * Opens a new connection to Ditto which consumes the changes of the namespace.
+   *
+   * @param namespace the namespace to consume.
+   * @return the connected client.
+   * @throws TimeoutException if the consumption did not start within {@code ditto.reconnect.connect-timeout-ms}.
+   */
+  public DittoClient newClient(String namespace)
+      throws InterruptedException, ExecutionException, TimeoutException {
     AuthenticationProvider<WebSocket> authenticationProvider = AuthenticationProviders
         .basic(BasicAuthenticationConfiguration.newBuilder().username(username).password(password).build());
 
     MessagingProvider messagingProvider = MessagingProviders.webSocket(WebSocketMessagingConfiguration.newBuilder()
-        .endpoint(endpoint).jsonSchemaVersion(JsonSchemaVersion.V_2).build(), authenticationProvider);
+        .endpoint(endpoint).jsonSchemaVersion(JsonSchemaVersion.V_2)
+        // reconnects are done by DittoService, which also backfills the changes missed in the meantime
+        .reconnectEnabled(false)
+        .build(), authenticationProvider);
 
     DittoClient client = DittoClients.newInstance(messagingProvider);
 
-    client.twin().startConsumption(Options.Consumption.namespaces(namespace)).get();
+    List<Option<?>> options = new ArrayList<>();
+    options.add(Options.Consumption.namespaces(namespace));
+    if (!getFilter().isEmpty()) {
+      options.add(Options.Consumption.filter("or(" + getFilter() + ",not(exists(features)))"));
+    }
+    if (!extraFields.trim().isEmpty()) {
+      options.add(Options.Consumption.extraFields(JsonFactory.newFieldSelector(extraFields.trim(),
+          JsonFactory.newParseOptionsBuilder().withoutUrlDecoding().build())));
+    }
+    try {
+      client.twin().startConsumption(options.toArray(new Option<?>[0])).get(connectTimeoutMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException | ExecutionException | TimeoutException | RuntimeException e) {
+      client.destroy();
+      throw e;
+    }
 
     return client;
   }
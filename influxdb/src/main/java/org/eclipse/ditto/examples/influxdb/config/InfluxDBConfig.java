@@ -15,13 +15,18 @@ package org.eclipse.ditto.examples.influxdb.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import com.influxdb.client.InfluxDBClient;
 import com.influxdb.client.InfluxDBClientFactory;
 
 @Configuration
+@Profile("!benchmark")
 public class InfluxDBConfig {
 
-  @Bean
+  /**
+   * @return the client, which is closed after the writer flushed its pending points on shutdown.
+   */
+  @Bean(destroyMethod = "close")
   public InfluxDBClient getInfluxDBClient() {
     return InfluxDBClientFactory.create();
   }
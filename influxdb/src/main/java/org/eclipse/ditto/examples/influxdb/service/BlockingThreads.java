@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.service;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the threads which run blocking calls to InfluxDB and Ditto, i.e. batch writes, pipeline workers and
+ * backfills.
+ * <p>
+ * On Java 21 or newer, and unless {@code influxdb.virtual-threads} is {@code false}, these are virtual threads, so
+ * thousands of writes can be in flight without a platform thread each. The virtual thread API is looked up
+ * reflectively, as the bridge is still built for Java 11; on older runtimes daemon platform threads are used.
+ */
+@Component
+public class BlockingThreads {
+
+  private static final Logger logger = LoggerFactory.getLogger(BlockingThreads.class);
+
+  @Value("${influxdb.virtual-threads:true}")
+  boolean virtualThreadsEnabled;
+
+  private Method ofVirtual;
+  private Method name;
+  private Method factory;
+  private Method newThreadPerTaskExecutor;
+
+  @PostConstruct
+  void start() {
+    if (!virtualThreadsEnabled) {
+      logger.info("Using platform threads for blocking calls, as virtual threads are disabled");
+      return;
+    }
+    try {
+      ofVirtual = Thread.class.getMethod("ofVirtual");
+      Class<?> builder = Class.forName("java.lang.Thread$Builder");
+      name = builder.getMethod("name", String.class, long.class);
+      factory = builder.getMethod("factory");
+      newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+      logger.info("Using virtual threads for blocking calls");
+    } catch (ReflectiveOperationException e) {
+      ofVirtual = null;
+      logger.info("Virtual threads are not available on Java {}, using platform threads",
+          System.getProperty("java.version"));
+    }
+  }
+
+  public boolean isVirtual() {
+    return ofVirtual != null;
+  }
+
+  /**
+   * @param namePrefix the prefix of the thread names, which are numbered from 1.
+   * @return a factory of virtual threads, or of daemon platform threads if they are not available.
+   */
+  public ThreadFactory factory(String namePrefix) {
+    if (isVirtual()) {
+      try {
+        return (ThreadFactory) factory.invoke(name.invoke(ofVirtual.invoke(null), namePrefix + "-", 1L));
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException("Failed to create virtual thread factory", e);
+      }
+    }
+    AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, namePrefix + "-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * @param namePrefix the prefix of the thread names.
+   * @param platformThreads the number of threads if virtual threads are not available.
+   * @return an executor starting a virtual thread per task, or a fixed pool of platform threads.
+   */
+  public ExecutorService newExecutor(String namePrefix, int platformThreads) {
+    if (isVirtual()) {
+      try {
+        return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory(namePrefix));
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException("Failed to create virtual thread executor", e);
+      }
+    }
+    return Executors.newFixedThreadPool(platformThreads, factory(namePrefix));
+  }
+
+  /**
+   * Starts a thread for a long running blocking task.
+   *
+   * @param name the name of the thread.
+   * @param task the task.
+   * @return the started thread.
+   */
+  public Thread start(String name, Runnable task) {
+    Thread thread = factory(name).newThread(task);
+    thread.setName(name);
+    thread.start();
+    return thread;
+  }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keeps the number of series in InfluxDB bounded. The distinct values of every tag are counted approximately by a
+ * {@link HyperLogLog}; once a tag has more than {@code influxdb.cardinality.max-tag-values} values it is considered
+ * exploded for good and handled by the {@link CardinalityPolicy} {@code influxdb.cardinality.policy}. The
+ * {@code deviceId} tag is exempt, as it identifies the thing and is bounded by the number of things. The written
+ * series are counted by the hash code of each {@link Series}, so guarding a point takes no lock and builds no
+ * string.
+ * <p>
+ * Exposes the estimated number of written series as {@code bridge.series.estimate} and the number of points whose
+ * tags were collapsed, dropped or rejected as {@code bridge.series.limited}.
+ */
+@Component
+public class CardinalityGuard {
+
+  private static final Logger logger = LoggerFactory.getLogger(CardinalityGuard.class);
+
+  static final String OTHER = "_other";
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Value("${influxdb.cardinality.max-tag-values:10000}")
+  long maxTagValues;
+
+  @Value("${influxdb.cardinality.policy:COLLAPSE}")
+  CardinalityPolicy policy;
+
+  private final Map<String, TagValues> tagValues = new ConcurrentHashMap<>();
+  private final HyperLogLog series = new HyperLogLog();
+  private Counter limited;
+
+  @PostConstruct
+  void start() {
+    Gauge.builder("bridge.series.estimate", series, HyperLogLog::estimate)
+        .description("Estimated number of distinct series written to InfluxDB")
+        .register(meterRegistry);
+    limited = Counter.builder("bridge.series.limited")
+        .description("Points whose tags exceeded the cardinality limit")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Counts the tag values of the series and applies the policy to exploded tags.
+   *
+   * @param candidate the series a point is to be written to.
+   * @return the series to write the point to instead, or {@code null} if the point is rejected.
+   */
+  Series guard(Series candidate) {
+    Map<String, String> tags = null;
+    for (Map.Entry<String, String> tag : candidate.getTags().entrySet()) {
+      if (InfluxDBService.DEVICE_ID_TAG.equals(tag.getKey()) || !isExploded(tag.getKey(), tag.getValue())) {
+        continue;
+      }
+      if (policy == CardinalityPolicy.REJECT) {
+        limited.increment();
+        return null;
+      }
+      if (tags == null) {
+        tags = new TreeMap<>(candidate.getTags());
+      }
+      if (policy == CardinalityPolicy.DROP_TAG) {
+        tags.remove(tag.getKey());
+      } else {
+        tags.put(tag.getKey(), OTHER);
+      }
+    }
+    Series guarded = candidate;
+    if (tags != null) {
+      limited.increment();
+      guarded = new Series(candidate.getMeasurement(), tags);
+    }
+    series.offerHash(guarded.hashCode());
+    return guarded;
+  }
+
+  private boolean isExploded(String tag, String value) {
+    TagValues values = tagValues.computeIfAbsent(tag, key -> new TagValues());
+    if (values.exploded) {
+      return true;
+    }
+    if (values.distinct.offer(value) && values.distinct.estimate() > maxTagValues) {
+      values.exploded = true;
+      logger.warn("Tag '{}' has more than {} distinct values, applying {} from now on", tag, maxTagValues, policy);
+      return true;
+    }
+    return false;
+  }
+
+  private static final class TagValues {
+
+    private final HyperLogLog distinct = new HyperLogLog();
+    private volatile boolean exploded;
+  }
+
+}
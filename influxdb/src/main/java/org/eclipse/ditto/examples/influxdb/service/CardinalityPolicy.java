@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.service;
+
+/**
+ * What the {@link CardinalityGuard} does with a tag whose number of distinct values exceeded the limit.
+ */
+public enum CardinalityPolicy {
+
+  /**
+   * Replace every value of the tag by {@code _other}.
+   */
+  COLLAPSE,
+
+  /**
+   * Write the points without the tag.
+   */
+  DROP_TAG,
+
+  /**
+   * Do not write points with the tag at all.
+   */
+  REJECT
+}
@@ -10,39 +10,247 @@
  *
  * SPDX-License-Identifier: EPL-2.0
  */
-
 package org.eclipse.ditto.examples.influxdb.service;
 
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.PreDestroy;
 import org.eclipse.ditto.client.DittoClient;
+import org.eclipse.ditto.client.changes.ChangeAction;
+import org.eclipse.ditto.examples.influxdb.config.DittoConfig;
+import org.eclipse.ditto.model.base.exceptions.DittoRuntimeException;
+import org.eclipse.ditto.model.things.ThingId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 
+/**
+ * Consumes the features changes of every namespace this replica owns. Each namespace is a shard with its own Ditto
+ * client connection, {@link IngestionPipeline} and {@link SearchBackfill}.
+ * <p>
+ * Every {@code ditto.reconnect.probe-interval-ms} the connection of each shard is probed by retrieving a thing, on a
+ * thread of its own so that a hanging shard does not delay the others. The connection is alive if Ditto answered,
+ * even with an error like that the thing does not exist. If the probe fails otherwise, the shard reconnects with exponential backoff and full jitter between
+ * {@code ditto.reconnect.min-backoff-ms} and {@code ditto.reconnect.max-backoff-ms}, starts the consumption with the
+ * same options again and backfills the things modified since the last successful probe. A reconnect whose consumption
+ * does not start within {@code ditto.reconnect.connect-timeout-ms} counts as failed, so the backoff goes on.
+ * <p>
+ * Things deleted while the connection was lost are not reconciled: the search only finds existing things, so their
+ * latest values are still served until the bridge restarts. Their tracked revisions do no harm, as Ditto continues the
+ * revisions of a re-created thing.
+ */
 @Service
+@DependsOn("influxDBService")
 public class DittoService {
 
   private static final Logger logger = LoggerFactory.getLogger(DittoService.class);
 
+  private static final String PROBE_THING_NAME = "influxdb-bridge-probe";
+
+  @Autowired
+  DittoConfig config;
+
+  @Autowired
+  ObjectProvider<IngestionPipeline> pipelines;
+
   @Autowired
-  DittoClient client;
+  ObjectProvider<SearchBackfill> backfills;
 
   @Autowired
-  InfluxDBService influxDbService;
+  RevisionTracker revisionTracker;
+
+  @Autowired
+  LatestValueCache latestValues;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Value("${ditto.reconnect.probe-interval-ms:10000}")
+  long probeIntervalMs;
+
+  @Value("${ditto.reconnect.min-backoff-ms:1000}")
+  long minBackoffMs;
+
+  @Value("${ditto.reconnect.max-backoff-ms:60000}")
+  long maxBackoffMs;
+
+  private final List<Shard> shards = new ArrayList<>();
+  private ScheduledExecutorService supervisor;
+  private volatile boolean running;
 
   @EventListener(ApplicationReadyEvent.class)
-  private void registerForChanges() throws InterruptedException, ExecutionException {
+  private void registerForChanges() throws InterruptedException, ExecutionException, TimeoutException {
+    List<String> namespaces = config.getOwnedNamespaces();
+    logger.info("Consuming namespaces {}", namespaces);
+    for (String namespace : namespaces) {
+      Shard shard = new Shard(namespace);
+      shards.add(shard);
+      connect(shard);
+      shard.backfill = backfills.getObject(namespace, shard.client, shard.pipeline);
+      shard.backfill.start();
+    }
+    if (shards.isEmpty()) {
+      return;
+    }
+    running = true;
+    supervisor = Executors.newScheduledThreadPool(shards.size(), runnable -> {
+      Thread thread = new Thread(runnable, "ditto-connection-supervisor");
+      thread.setDaemon(true);
+      return thread;
+    });
+    for (Shard shard : shards) {
+      supervisor.scheduleWithFixedDelay(() -> supervise(shard), probeIntervalMs, probeIntervalMs,
+          TimeUnit.MILLISECONDS);
+    }
+  }
 
+  private void connect(Shard shard) throws InterruptedException, ExecutionException, TimeoutException {
+    DittoClient client = config.newClient(shard.namespace);
     client.twin().registerForFeaturesChanges("globalFeaturesHandler", change -> {
-      logger.info("Received features update from device '{}': {}", change.getEntityId(),
-          change.getFeatures().toJsonString());
+      if (logger.isDebugEnabled()) {
+        logger.debug("Received features update from device '{}': {}", change.getEntityId(),
+            change.getFeatures().toJsonString());
+      }
 
-      change.getFeatures().forEach(f -> influxDbService.save(change.getEntityId().toString(), f.getId(),
-          f.getProperty("value").get().asDouble()));
+      shard.received.increment();
+      FeaturesUpdate update = FeaturesUpdate.of(change);
+      if (revisionTracker.advance(update)) {
+        shard.pipeline.submit(update);
+      }
     });
+    client.twin().registerForThingChanges("thingDeletionHandler", change -> {
+      if (change.getAction() == ChangeAction.DELETED) {
+        revisionTracker.forget(change.getEntityId().toString());
+        latestValues.evict(change.getEntityId().toString(), change.getRevision());
+      }
+    });
+    shard.client = client;
+    shard.connectedSince = Instant.now();
+  }
+
+  private void supervise(Shard shard) {
+    try {
+      if (running && !probe(shard)) {
+        reconnect(shard);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private boolean probe(Shard shard) throws InterruptedException {
+    Instant probeStart = Instant.now();
+    try {
+      shard.client.twin().retrieve(ThingId.of(shard.namespace, PROBE_THING_NAME))
+          .get(probeIntervalMs, TimeUnit.MILLISECONDS);
+      shard.connectedSince = probeStart;
+      return true;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof DittoRuntimeException) {
+        // Ditto answered, e.g. that the probe thing does not exist, so the connection is alive
+        shard.connectedSince = probeStart;
+        return true;
+      }
+      // the client failed to send the probe or lost the connection
+      logger.warn("Connection of namespace '{}' seems to be lost: {}", shard.namespace, e.getCause().toString());
+      return false;
+    } catch (TimeoutException | RuntimeException e) {
+      logger.warn("Connection of namespace '{}' seems to be lost: {}", shard.namespace, e.toString());
+      return false;
+    }
+  }
+
+  private void reconnect(Shard shard) throws InterruptedException {
+    // the clocks of Ditto and the bridge may differ, already written revisions are skipped anyway
+    Instant lostSince = shard.connectedSince.minusMillis(probeIntervalMs);
+    shard.client.destroy();
+    for (int attempt = 0; running; attempt++) {
+      long backoffMs = Math.min(maxBackoffMs, minBackoffMs << Math.min(attempt, 20));
+      Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMs + 1));
+      try {
+        connect(shard);
+        shard.reconnects.increment();
+        logger.info("Reconnected namespace '{}', backfilling things modified since {}", shard.namespace, lostSince);
+        SearchBackfill backfill = backfills.getObject(shard.namespace, shard.client, shard.pipeline);
+        // the previous backfill used the destroyed client
+        shard.backfill.cancel();
+        shard.backfill = backfill;
+        backfill.startModifiedSince(lostSince);
+        return;
+      } catch (ExecutionException | TimeoutException | RuntimeException e) {
+        logger.warn("Reconnect {} of namespace '{}' failed: {}", attempt + 1, shard.namespace, e.toString());
+      }
+    }
+  }
+
+  /**
+   * Suspends the consumption of all shards first, so that no further changes arrive, and stops their backfills, then
+   * drains their pipelines and closes the connections.
+   */
+  @PreDestroy
+  void stop() throws InterruptedException, IOException {
+    running = false;
+    if (supervisor != null) {
+      supervisor.shutdownNow();
+      supervisor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+    for (Shard shard : shards) {
+      try {
+        shard.client.twin().suspendConsumption().get(5, TimeUnit.SECONDS);
+      } catch (ExecutionException | TimeoutException e) {
+        logger.warn("Failed to suspend consumption of namespace '{}': {}", shard.namespace, e.toString());
+      }
+    }
+    for (Shard shard : shards) {
+      shard.backfill.stop(TimeUnit.SECONDS.toMillis(10));
+    }
+    for (Shard shard : shards) {
+      shard.pipeline.stop();
+      shard.client.destroy();
+    }
+  }
+
+  /**
+   * The connection and pipeline of a consumed namespace.
+   */
+  private final class Shard {
+
+    private final String namespace;
+    private final IngestionPipeline pipeline;
+    private final Counter received;
+    private final Counter reconnects;
+    private volatile DittoClient client;
+    private volatile Instant connectedSince;
+    private volatile SearchBackfill backfill;
+
+    private Shard(String namespace) {
+      this.namespace = namespace;
+      pipeline = pipelines.getObject(namespace);
+      received = Counter.builder("bridge.changes.received")
+          .description("Features changes received from Ditto")
+          .tag("shard", namespace)
+          .register(meterRegistry);
+      reconnects = Counter.builder("bridge.reconnects")
+          .description("Reconnects to Ditto after the connection was lost")
+          .tag("shard", namespace)
+          .register(meterRegistry);
+    }
   }
 
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.ditto.examples.influxdb.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.PostConstruct;
+import org.eclipse.ditto.json.JsonField;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns the properties of a feature into InfluxDB fields by walking them once and emitting every numeric or boolean
+ * leaf. Numbers are always written as floats, so a property switching between integer and decimal values does not
+ * cause a field type conflict.
+ * <p>
+ * Leaves are selected by the JSON pointers in {@code influxdb.fields.include} and {@code influxdb.fields.exclude},
+ * e.g. {@code /*}{@code /value} or {@code /engine/diagnostics}. The first segment of a pointer is the feature ID, the
+ * others address a property; {@code *} matches any key. A pointer selects the addressed value and everything below
+ * it. An empty include list selects all leaves. The pointers are compiled into a trie once, so a leaf is matched
+ * while walking the properties without building its pointer.
+ * <p>
+ * Fields are named by the feature ID followed by the property path, separated by dots. The {@code value} property
+ * at the top level is named by the feature ID only, which is how this bridge always stored it.
+ */
+@Component
+public class FeaturePropertiesFlattener {
+
+  private static final String WILDCARD = "*";
+  private static final String VALUE_PROPERTY = "value";
+
+  @Value("${influxdb.fields.include:}")
+  String[] includedPointers;
+
+  @Value("${influxdb.fields.exclude:}")
+  String[] excludedPointers;
+
+  private Node includes;
+  private Node excludes;
+
+  @PostConstruct
+  void compile() {
+    includes = compile(includedPointers);
+    excludes = compile(excludedPointers);
+  }
+
+  private static Node compile(String[] pointers) {
+    Node root = null;
+    for (String pointer : pointers) {
+      String trimmed = pointer.trim();
+      if (trimmed.isEmpty()) {
+        continue;
+      }
+      if (root == null) {
+        root = new Node();
+      }
+      Node node = root;
+      for (String segment : trimmed.split("/")) {
+        if (!segment.isEmpty()) {
+          node = node.child(segment);
+        }
+      }
+      node.terminal = true;
+    }
+    return root;
+  }
+
+  /**
+   * Adds the numeric and boolean leaves of the feature properties to the fields.
+   *
+   * @param featureId the ID of the feature.
+   * @param properties the properties of the feature.
+   * @param fields the fields to add to.
+   */
+  public void flatten(String featureId, JsonObject properties, Map<String, Object> fields) {
+    List<Node> includeNodes = step(includes == null ? null : List.of(includes), featureId);
+    List<Node> excludeNodes = step(excludes == null ? null : List.of(excludes), featureId);
+    if (includeNodes != null && includeNodes.isEmpty()) {
+      return;
+    }
+    StringBuilder fieldName = new StringBuilder(featureId);
+    walk(properties, fieldName, includeNodes, excludeNodes, 0, fields);
+  }
+
+  private void walk(JsonObject object, StringBuilder fieldName, List<Node> includeNodes, List<Node> excludeNodes,
+      int depth, Map<String, Object> fields) {
+    if (isMatched(excludeNodes)) {
+      return;
+    }
+    int fieldNameLength = fieldName.length();
+    for (JsonField field : object) {
+      String key = field.getKeyName();
+      List<Node> childIncludes = isMatched(includeNodes) ? includeNodes : step(includeNodes, key);
+      if (childIncludes != null && childIncludes.isEmpty()) {
+        continue;
+      }
+      List<Node> childExcludes = step(excludeNodes, key);
+      JsonValue value = field.getValue();
+      if (value.isObject()) {
+        fieldName.append('.').append(key);
+        walk(value.asObject(), fieldName, childIncludes, childExcludes, depth + 1, fields);
+        fieldName.setLength(fieldNameLength);
+      } else if ((value.isNumber() || value.isBoolean()) && !isMatched(childExcludes)
+          && (childIncludes == null || isMatched(childIncludes))) {
+        String name = depth == 0 && VALUE_PROPERTY.equals(key)
+            ? fieldName.toString()
+            : fieldName.append('.').append(key).toString();
+        fieldName.setLength(fieldNameLength);
+        fields.put(name, value.isNumber() ? (Object) value.asDouble() : (Object) value.asBoolean());
+      }
+    }
+  }
+
+  /**
+   * Returns {@code null} if there are no pointers, an empty list if none of the pointers matches the path.
+   */
+  private static List<Node> step(List<Node> nodes, String key) {
+    if (nodes == null) {
+      return null;
+    }
+    List<Node> next = new ArrayList<>(2);
+    for (Node node : nodes) {
+      if (node.terminal) {
+        next.add(node);
+        continue;
+      }
+      Node literal = node.children.get(key);
+      if (literal != null) {
+        next.add(literal);
+      }
+      Node wildcard = node.children.get(WILDCARD);
+      if (wildcard != null) {
+        next.add(wildcard);
+      }
+    }
+    return next;
+  }
+
+  private static boolean isMatched(List<Node> nodes) {
+    if (nodes == null) {
+      return false;
+    }
+    for (Node node : nodes) {
+      if (node.terminal) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static final class Node {
+
+    private final Map<String, Node> children = new HashMap<>();
+    private boolean terminal;
+
+    private Node child(String segment) {
+      return children.computeIfAbsent(segment, s -> new Node());
+    }
+  }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.ditto.examples.influxdb.service;
+
+import java.time.Instant;
+import org.eclipse.ditto.client.changes.FeaturesChange;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonValue;
+
+/**
+ * Immutable snapshot of the features of a thing which are to be stored in InfluxDB, independent of where it came from.
+ */
+public final class FeaturesUpdate {
+
+  private static final String THING_ID = "thingId";
+  private static final String REVISION = "revision";
+  private static final String TIMESTAMP = "timestamp";
+  private static final String FEATURES = "features";
+  private static final String EXTRA = "extra";
+
+  private final String thingId;
+  private final JsonObject features;
+  private final long revision;
+  private final Instant timestamp;
+  private final JsonObject extra;
+
+  public FeaturesUpdate(String thingId, JsonObject features, long revision, Instant timestamp) {
+    this(thingId, features, revision, timestamp, JsonFactory.newObject());
+  }
+
+  public FeaturesUpdate(String thingId, JsonObject features, long revision, Instant timestamp, JsonObject extra) {
+    this.thingId = thingId;
+    this.features = features;
+    this.revision = revision;
+    this.timestamp = timestamp;
+    this.extra = extra;
+  }
+
+  public static FeaturesUpdate of(FeaturesChange change) {
+    return new FeaturesUpdate(change.getEntityId().toString(), change.getFeatures().toJson(), change.getRevision(),
+        change.getTimestamp().orElse(null), change.getExtra().orElse(JsonFactory.newObject()));
+  }
+
+  public static FeaturesUpdate fromJson(JsonObject json) {
+    return new FeaturesUpdate(json.getValue(THING_ID).filter(JsonValue::isString).map(JsonValue::asString)
+        .orElseThrow(() -> new IllegalArgumentException("Features update without thing ID: " + json)),
+        json.getValue(FEATURES).filter(JsonValue::isObject).map(JsonValue::asObject).orElse(JsonFactory.newObject()),
+        json.getValue(REVISION).filter(JsonValue::isNumber).map(JsonValue::asLong).orElse(0L),
+        json.getValue(TIMESTAMP).filter(JsonValue::isString).map(JsonValue::asString).map(Instant::parse)
+            .orElse(null),
+        json.getValue(EXTRA).filter(JsonValue::isObject).map(JsonValue::asObject).orElse(JsonFactory.newObject()));
+  }
+
+  public String getThingId() {
+    return thingId;
+  }
+
+  /**
+   * @return the features as JSON object, keyed by feature ID.
+   */
+  public JsonObject getFeatures() {
+    return features;
+  }
+
+  public long getRevision() {
+    return revision;
+  }
+
+  /**
+   * @return the time of the change or {@code null} if unknown.
+   */
+  public Instant getTimestamp() {
+    return timestamp;
+  }
+
+  /**
+   * @return the extra fields of the thing which were requested with the consumption, empty if none.
+   */
+  public JsonObject getExtra() {
+    return extra;
+  }
+
+  public JsonObject toJson() {
+    return JsonFactory.newObjectBuilder()
+        .set(THING_ID, thingId)
+        .set(REVISION, revision)
+        .set(TIMESTAMP, timestamp == null ? JsonFactory.nullLiteral() : JsonValue.of(timestamp.toString()))
+        .set(FEATURES, features)
+        .set(EXTRA, extra)
+        .build();
+  }
+
+}
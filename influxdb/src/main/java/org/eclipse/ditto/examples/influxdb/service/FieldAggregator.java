@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.ditto.examples.influxdb.service;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Down-samples the numeric fields of each series over tumbling windows. For every field the minimum, maximum, mean,
+ * count and last value of a window are kept in primitive arrays and written as one point per series when the window
+ * has elapsed, which is timestamped with the start of the window.
+ * <p>
+ * The last value keeps the name of the field, the others are suffixed with {@code /min}, {@code /max}, {@code /mean}
+ * and {@code /count}. Feature IDs and property keys cannot contain a slash, so the suffixed names cannot collide
+ * with flattened properties, e.g. a property {@code min} of the feature {@code temperature}.
+ * <p>
+ * A window is written only once, as writing it again would overwrite the complete aggregate in InfluxDB with a
+ * partial one. The numeric fields of a late sample, whose window precedes the current window of its series or was
+ * already written, are therefore dropped and counted. The window of a series which did not receive samples for a
+ * whole window after it was written is removed, so series which stop reporting do not keep its statistics forever;
+ * only the start of its last written window is kept, which is bounded by the number of series.
+ * <p>
+ * On {@link #close()}, only the elapsed windows are written. The samples of a window which is still open are
+ * discarded, as the samples of that window arriving after a restart would otherwise overwrite the partial point.
+ *
+ * @param <K> the type of the key identifying a series.
+ */
+final class FieldAggregator<K> {
+
+  private static final Logger logger = LoggerFactory.getLogger(FieldAggregator.class);
+
+  /**
+   * Receives the aggregated fields of a series once its window has elapsed.
+   */
+  interface Sink<K> {
+
+    void write(K series, Map<String, Object> fields, Instant windowStart);
+  }
+
+  private final long windowMs;
+  private final Sink<K> sink;
+  private final Map<K, Window> windows = new ConcurrentHashMap<>();
+  private final Map<K, Long> writtenOfRemovedWindows = new ConcurrentHashMap<>();
+  private final LongAdder lateSamples = new LongAdder();
+  private final ScheduledExecutorService scheduler;
+
+  FieldAggregator(long windowMs, Sink<K> sink) {
+    this.windowMs = windowMs;
+    this.sink = sink;
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "influxdb-aggregator");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::flushElapsed, windowMs, Math.max(1, windowMs / 4), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Adds the numeric fields to the window of the series. If the timestamp belongs to a later window than the
+   * current one, the current window is written first. If it belongs to an earlier or already written window, the
+   * numeric fields are dropped.
+   *
+   * @param series the series the fields belong to.
+   * @param fields the fields, of which the numeric ones are aggregated.
+   * @param timestamp the time of the fields.
+   * @return the fields which cannot be aggregated and are to be written as they are.
+   */
+  Map<String, Object> add(K series, Map<String, Object> fields, Instant timestamp) {
+    long windowStart = timestamp.toEpochMilli() - Math.floorMod(timestamp.toEpochMilli(), windowMs);
+    Map<String, Object> notAggregated = new HashMap<>();
+    Map<String, Object> elapsed = null;
+    long elapsedStart = 0;
+    while (true) {
+      Window window = windows.computeIfAbsent(series, key -> {
+        Long written = writtenOfRemovedWindows.remove(key);
+        return new Window(written != null ? written : Long.MIN_VALUE);
+      });
+      synchronized (window) {
+        if (window.removed) {
+          continue;
+        }
+        boolean late = windowStart < window.start || windowStart <= window.written;
+        if (late) {
+          lateSamples.increment();
+        } else if (window.start < windowStart) {
+          if (window.count > 0) {
+            elapsedStart = window.start;
+            elapsed = window.drain();
+          }
+          window.start = windowStart;
+        }
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+          if (!(field.getValue() instanceof Number)) {
+            notAggregated.put(field.getKey(), field.getValue());
+          } else if (!late) {
+            window.add(field.getKey(), ((Number) field.getValue()).doubleValue());
+          }
+        }
+      }
+      break;
+    }
+    if (elapsed != null) {
+      sink.write(series, elapsed, Instant.ofEpochMilli(elapsedStart));
+    }
+    return notAggregated;
+  }
+
+  /**
+   * @return the number of samples whose numeric fields were dropped because their window was already written.
+   */
+  long lateSamples() {
+    return lateSamples.sum();
+  }
+
+  /**
+   * @return the number of series with a window.
+   */
+  int windows() {
+    return windows.size();
+  }
+
+  private void flushElapsed() {
+    flush(System.currentTimeMillis() - windowMs);
+  }
+
+  /**
+   * Writes the windows which started at or before the given time, and removes those which were written before and
+   * did not receive samples for another window since.
+   */
+  void flush(long startedBefore) {
+    for (Map.Entry<K, Window> entry : windows.entrySet()) {
+      Window window = entry.getValue();
+      Map<String, Object> elapsed;
+      long elapsedStart;
+      synchronized (window) {
+        if (window.count == 0) {
+          if (window.start <= startedBefore - windowMs) {
+            // a sample waiting for this window retries with a new one, which takes over the last written start
+            if (window.written != Long.MIN_VALUE) {
+              writtenOfRemovedWindows.put(entry.getKey(), window.written);
+            }
+            window.removed = true;
+            windows.remove(entry.getKey(), window);
+          }
+          continue;
+        }
+        if (window.start > startedBefore) {
+          continue;
+        }
+        elapsedStart = window.start;
+        elapsed = window.drain();
+      }
+      sink.write(entry.getKey(), elapsed, Instant.ofEpochMilli(elapsedStart));
+    }
+  }
+
+  /**
+   * Stops the scheduled flushing and writes the elapsed windows. The samples of open windows are discarded.
+   */
+  void close() throws InterruptedException {
+    scheduler.shutdown();
+    scheduler.awaitTermination(10, TimeUnit.SECONDS);
+    flushElapsed();
+    long discarded = 0;
+    for (Window window : windows.values()) {
+      synchronized (window) {
+        discarded += window.count;
+      }
+    }
+    if (discarded > 0) {
+      logger.info("Discarded {} aggregated values of windows which had not elapsed yet", discarded);
+    }
+  }
+
+  /**
+   * The current window of a series. The statistics of field {@code i} are at index {@code i} of the arrays, which
+   * are kept across windows so that a series with a stable set of fields does not allocate them again.
+   */
+  private static final class Window {
+
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private String[] names = new String[8];
+    private double[] min = new double[8];
+    private double[] max = new double[8];
+    private double[] sum = new double[8];
+    private double[] last = new double[8];
+    private long[] counts = new long[8];
+    private int size;
+    private long count;
+    private long start = Long.MIN_VALUE;
+    private long written;
+    private boolean removed;
+
+    Window(long written) {
+      this.written = written;
+    }
+
+    void add(String name, double value) {
+      Integer index = indexes.get(name);
+      if (index == null) {
+        index = allocate(name);
+      }
+      int i = index;
+      if (counts[i] == 0) {
+        min[i] = value;
+        max[i] = value;
+        sum[i] = value;
+      } else {
+        min[i] = Math.min(min[i], value);
+        max[i] = Math.max(max[i], value);
+        sum[i] += value;
+      }
+      last[i] = value;
+      counts[i]++;
+      count++;
+    }
+
+    private int allocate(String name) {
+      if (size == names.length) {
+        int capacity = size * 2;
+        names = Arrays.copyOf(names, capacity);
+        min = Arrays.copyOf(min, capacity);
+        max = Arrays.copyOf(max, capacity);
+        sum = Arrays.copyOf(sum, capacity);
+        last = Arrays.copyOf(last, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+      }
+      names[size] = name;
+      indexes.put(name, size);
+      return size++;
+    }
+
+    Map<String, Object> drain() {
+      Map<String, Object> fields = new HashMap<>();
+      for (int i = 0; i < size; i++) {
+        if (counts[i] > 0) {
+          fields.put(names[i], last[i]);
+          fields.put(names[i] + "/min", min[i]);
+          fields.put(names[i] + "/max", max[i]);
+          fields.put(names[i] + "/mean", sum[i] / counts[i]);
+          fields.put(names[i] + "/count", counts[i]);
+          counts[i] = 0;
+        }
+      }
+      count = 0;
+      written = start;
+      return fields;
+    }
+  }
+
+}
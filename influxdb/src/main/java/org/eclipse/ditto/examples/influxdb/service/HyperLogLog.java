@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.service;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Approximate counter of distinct values in constant memory. With 4096 registers, the standard error of the estimate
+ * is about 1.6%, regardless of how many values were offered.
+ * <p>
+ * The counter is lock-free: registers are raised by compare-and-set, and the sum of the estimate is kept up to date
+ * with every raised register, so that estimating does not scan the registers.
+ */
+final class HyperLogLog {
+
+  private static final int PRECISION = 12;
+  private static final int REGISTERS = 1 << PRECISION;
+  private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+  // 2^-rank of every register is summed as a fixed point number with this many fractional bits; higher ranks are
+  // about as likely as 2^64 distinct values
+  private static final int SUM_SCALE = 50;
+
+  private final AtomicIntegerArray registers = new AtomicIntegerArray(REGISTERS);
+  private final LongAdder scaledSum = new LongAdder();
+  private final LongAdder zeros = new LongAdder();
+
+  HyperLogLog() {
+    scaledSum.add((long) REGISTERS << SUM_SCALE);
+    zeros.add(REGISTERS);
+  }
+
+  /**
+   * @param value the string to count.
+   * @return whether the estimate may have changed.
+   */
+  boolean offer(String value) {
+    return offerHash(fnv1a(value));
+  }
+
+  /**
+   * @param hash a hash of the value to count, e.g. its {@code hashCode()}, which is spread over all bits first.
+   * @return whether the estimate may have changed.
+   */
+  boolean offerHash(long hash) {
+    long spread = mix(hash);
+    int index = (int) (spread >>> (Long.SIZE - PRECISION));
+    // the guard bit bounds the rank if all remaining bits are zero
+    int rank = Long.numberOfLeadingZeros((spread << PRECISION) | (1L << (PRECISION - 1))) + 1;
+    int current;
+    do {
+      current = registers.get(index);
+      if (rank <= current) {
+        return false;
+      }
+    } while (!registers.compareAndSet(index, current, rank));
+    scaledSum.add(scaledInverse(rank) - scaledInverse(current));
+    if (current == 0) {
+      zeros.decrement();
+    }
+    return true;
+  }
+
+  /**
+   * @return the estimated number of distinct values offered so far.
+   */
+  long estimate() {
+    double sum = (double) scaledSum.sum() / (1L << SUM_SCALE);
+    long zeroRegisters = zeros.sum();
+    double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+    if (estimate <= 2.5 * REGISTERS && zeroRegisters > 0) {
+      // linear counting is more accurate for small cardinalities
+      estimate = REGISTERS * Math.log((double) REGISTERS / zeroRegisters);
+    }
+    return Math.round(estimate);
+  }
+
+  private static long scaledInverse(int rank) {
+    return 1L << (SUM_SCALE - Math.min(rank, SUM_SCALE));
+  }
+
+  /**
+   * 64 bit FNV-1a, which does not allocate unlike encoding the string first.
+   */
+  private static long fnv1a(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  /**
+   * The finalizer of SplitMix64, which spreads the bits well enough for the registers.
+   */
+  private static long mix(long hash) {
+    hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+    hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+    return hash ^ (hash >>> 31);
+  }
+
+}
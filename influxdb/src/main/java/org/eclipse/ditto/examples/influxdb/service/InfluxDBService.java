@@ -13,19 +13,145 @@
 
 package org.eclipse.ditto.examples.influxdb.service;
 
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.eclipse.ditto.json.JsonField;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonValue;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import com.influxdb.client.InfluxDBClient;
-import com.influxdb.client.write.Point;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
 
+/**
+ * Turns features updates into points. The fields are the flattened feature properties, the measurement and tags are
+ * given by the {@link SeriesMapping} and bounded by the {@link CardinalityGuard}.
+ */
 @Service
 public class InfluxDBService {
 
+  static final String DEVICE_ID_TAG = "deviceId";
+
+  @Autowired
+  InfluxDBWriter writer;
+
+  @Autowired
+  FeaturePropertiesFlattener flattener;
+
+  @Autowired
+  SeriesMapping seriesMapping;
+
   @Autowired
-  InfluxDBClient client;
+  CardinalityGuard cardinalityGuard;
+
+  @Autowired
+  LatestValueCache latestValues;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Value("${influxdb.point-mode:PER_FEATURE}")
+  PointMode pointMode;
+
+  @Value("${influxdb.aggregation.window-ms:0}")
+  long aggregationWindowMs;
+
+  private final LineProtocolEncoder encoder = new LineProtocolEncoder();
+  private FieldAggregator<Series> aggregator;
+
+  @PostConstruct
+  void start() {
+    if (aggregationWindowMs > 0) {
+      aggregator = new FieldAggregator<>(aggregationWindowMs, this::write);
+      FunctionCounter.builder("bridge.aggregation.late", aggregator, FieldAggregator::lateSamples)
+          .description("Samples dropped from aggregation because their window was already written")
+          .register(meterRegistry);
+    }
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    if (aggregator != null) {
+      aggregator.close();
+    }
+  }
+
+  public void save(FeaturesUpdate update) {
+    Map<String, String> tags = seriesMapping.tagsOf(update);
+    Instant timestamp = update.getTimestamp() != null ? update.getTimestamp() : Instant.now();
+    if (pointMode == PointMode.PER_CHANGE) {
+      saveAsSinglePointPerMeasurement(update, tags, timestamp);
+    } else {
+      saveAsPointPerFeature(update, tags, timestamp);
+    }
+  }
+
+  private void saveAsSinglePointPerMeasurement(FeaturesUpdate update, Map<String, String> tags, Instant timestamp) {
+    Map<String, Map<String, Object>> fieldsByMeasurement = new HashMap<>();
+    for (JsonField feature : update.getFeatures()) {
+      getProperties(feature).ifPresent(properties -> {
+        Map<String, Object> fields = flatten(update, feature.getKeyName(), properties, timestamp);
+        fieldsByMeasurement.computeIfAbsent(seriesMapping.measurementOf(feature.getKeyName(), feature.getValue()),
+            measurement -> new HashMap<>()).putAll(fields);
+      });
+    }
+    fieldsByMeasurement.forEach((measurement, fields) -> save(new Series(measurement, tags), fields, timestamp));
+  }
+
+  private void saveAsPointPerFeature(FeaturesUpdate update, Map<String, String> tags, Instant timestamp) {
+    for (JsonField feature : update.getFeatures()) {
+      getProperties(feature).ifPresent(properties -> {
+        Map<String, Object> fields = flatten(update, feature.getKeyName(), properties, timestamp);
+        save(new Series(seriesMapping.measurementOf(feature.getKeyName(), feature.getValue()), tags), fields,
+            timestamp);
+      });
+    }
+  }
+
+  private Map<String, Object> flatten(FeaturesUpdate update, String featureId, JsonObject properties,
+      Instant timestamp) {
+    Map<String, Object> fields = new HashMap<>();
+    flattener.flatten(featureId, properties, fields);
+    latestValues.update(update.getThingId(), featureId, fields, update.getRevision(), timestamp);
+    return fields;
+  }
+
+  private static Optional<JsonObject> getProperties(JsonField feature) {
+    return Optional.of(feature.getValue())
+        .filter(JsonValue::isObject)
+        .flatMap(value -> value.asObject().getValue("properties"))
+        .filter(JsonValue::isObject)
+        .map(JsonValue::asObject);
+  }
+
+  private void save(Series candidate, Map<String, Object> fields, Instant timestamp) {
+    if (fields.isEmpty()) {
+      return;
+    }
+    Series series = cardinalityGuard.guard(candidate);
+    if (series == null) {
+      return;
+    }
+    if (aggregator != null) {
+      write(series, aggregator.add(series, fields, timestamp), timestamp);
+    } else {
+      write(series, fields, timestamp);
+    }
+  }
 
-  public void save(String deviceId, String featureId, Double value) {
-    client.getWriteApi().writePoint(Point.measurement("weather").addField(featureId, value).addTag("deviceId", deviceId));
+  private void write(Series series, Map<String, Object> fields, Instant timestamp) {
+    if (fields.isEmpty()) {
+      return;
+    }
+    String line = encoder.encode(series, fields, timestamp);
+    if (line != null) {
+      writer.write(line, timestamp);
+    }
   }
 
 }
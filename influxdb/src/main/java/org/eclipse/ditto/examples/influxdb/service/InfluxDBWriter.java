@@ -0,0 +1,412 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.ditto.examples.influxdb.service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import com.influxdb.client.InfluxDBClient;
+import com.influxdb.client.WriteApiBlocking;
+import com.influxdb.client.domain.HealthCheck;
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.exceptions.InfluxException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Long-lived writer which collects points, encoded as line protocol by the {@link LineProtocolEncoder}, into batches
+ * and writes them to InfluxDB asynchronously as raw records.
+ * <p>
+ * A batch is flushed as soon as it reaches {@code influxdb.writer.batch-size} points or
+ * {@code influxdb.writer.batch-bytes} bytes of line protocol, or when {@code influxdb.writer.flush-interval-ms}
+ * elapsed since its first point. At most {@code influxdb.writer.max-in-flight-batches} batches are written
+ * concurrently, each on a thread of {@link BlockingThreads}. If InfluxDB is slower than points arrive, the buffer of
+ * {@code influxdb.writer.buffer-capacity} points fills up and {@link #write(String, Instant)} blocks its caller until
+ * there is space again.
+ * <p>
+ * Batches which fail to be written because of an I/O error, a server error or throttling are appended to the
+ * {@link WriteAheadBuffer} and InfluxDB is considered unavailable. Until its health check passes again, batches go to
+ * the write-ahead buffer directly instead of waiting for InfluxDB to time out. Every
+ * {@code influxdb.wal.replay-interval-ms} the buffered batches are replayed if InfluxDB is available. Batches which
+ * InfluxDB rejects with a client error, e.g. because of a field type conflict, would be rejected again on every replay
+ * and are dropped instead.
+ * <p>
+ * Exposes the metrics {@code bridge.writer.buffer.depth}, {@code bridge.points.written}, {@code bridge.batch.size},
+ * {@code bridge.write.latency}, {@code bridge.write.errors}, {@code bridge.points.rejected} and
+ * {@code bridge.write.lag}. The lag is measured from the
+ * timestamp of a point to the acknowledgement of its write by InfluxDB.
+ * <p>
+ * On shutdown, the buffered points and in-flight batches are written within {@code influxdb.shutdown.timeout-ms}.
+ * What could not be written until then, including batches which were still queued for or stuck in a write, is
+ * appended to the write-ahead buffer, which is replayed after the next start.
+ */
+@Service
+public class InfluxDBWriter {
+
+  private static final Logger logger = LoggerFactory.getLogger(InfluxDBWriter.class);
+
+  @Autowired
+  InfluxDBClient client;
+
+  @Autowired
+  WriteAheadBuffer writeAheadBuffer;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Autowired
+  BlockingThreads blockingThreads;
+
+  @Value("${influxdb.writer.batch-size:5000}")
+  int batchSize;
+
+  @Value("${influxdb.writer.batch-bytes:1048576}")
+  int batchBytes;
+
+  @Value("${influxdb.writer.flush-interval-ms:1000}")
+  long flushIntervalMs;
+
+  @Value("${influxdb.writer.buffer-capacity:50000}")
+  int bufferCapacity;
+
+  @Value("${influxdb.writer.max-in-flight-batches:4}")
+  int maxInFlightBatches;
+
+  @Value("${influxdb.wal.replay-interval-ms:5000}")
+  long replayIntervalMs;
+
+  @Value("${influxdb.shutdown.timeout-ms:20000}")
+  long shutdownTimeoutMs;
+
+  private BlockingQueue<PendingPoint> buffer;
+  private Semaphore inFlightBatches;
+  private ExecutorService batchWriters;
+  private Thread flusher;
+  private ScheduledExecutorService replayer;
+  private WriteApiBlocking writeApi;
+  private volatile boolean running;
+  private volatile boolean influxDbAvailable = true;
+  private Counter pointsWritten;
+  private DistributionSummary batchSizes;
+  private Timer writeLatency;
+  private Counter writeErrors;
+  private Counter pointsRejected;
+  private Timer lag;
+  private final AtomicLong pointsBuffered = new AtomicLong();
+  private final AtomicLong pointsDropped = new AtomicLong();
+  private final Set<BatchWrite> unfinishedBatches = ConcurrentHashMap.newKeySet();
+
+  @PostConstruct
+  void start() {
+    writeApi = client.getWriteApiBlocking();
+    buffer = new ArrayBlockingQueue<>(bufferCapacity);
+    Gauge.builder("bridge.writer.buffer.depth", buffer, BlockingQueue::size)
+        .description("Points waiting to be collected into a batch")
+        .register(meterRegistry);
+    pointsWritten = Counter.builder("bridge.points.written")
+        .description("Points acknowledged by InfluxDB, including replayed ones")
+        .register(meterRegistry);
+    batchSizes = DistributionSummary.builder("bridge.batch.size")
+        .description("Points per batch written to InfluxDB")
+        .publishPercentiles(0.5, 0.99)
+        .register(meterRegistry);
+    writeLatency = Timer.builder("bridge.write.latency")
+        .description("Time until InfluxDB acknowledged a batch")
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .register(meterRegistry);
+    writeErrors = Counter.builder("bridge.write.errors")
+        .description("Batches which InfluxDB failed to write")
+        .register(meterRegistry);
+    pointsRejected = Counter.builder("bridge.points.rejected")
+        .description("Points dropped because InfluxDB rejected their batch")
+        .register(meterRegistry);
+    lag = Timer.builder("bridge.write.lag")
+        .description("Time from the timestamp of a point until InfluxDB acknowledged it")
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .register(meterRegistry);
+    inFlightBatches = new Semaphore(maxInFlightBatches);
+    batchWriters = blockingThreads.newExecutor("influxdb-batch-writer", maxInFlightBatches);
+    running = true;
+    flusher = new Thread(this::collectBatches, "influxdb-batch-flusher");
+    flusher.setDaemon(true);
+    flusher.start();
+    replayer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "influxdb-wal-replayer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    replayer.scheduleWithFixedDelay(this::replayWriteAheadBuffer, replayIntervalMs, replayIntervalMs,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Adds the point to the next batch, blocking while the buffer is full.
+   *
+   * @param line the point in line protocol with millisecond precision.
+   * @param timestamp the timestamp of the point, from which the lag is measured.
+   */
+  public void write(String line, Instant timestamp) {
+    try {
+      buffer.put(new PendingPoint(line, timestamp.toEpochMilli()));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.warn("Interrupted while waiting for buffer space, dropped point: {}", line);
+    }
+  }
+
+  private void collectBatches() {
+    List<PendingPoint> batch = new ArrayList<>(batchSize);
+    long bytes = 0;
+    long flushDeadline = Long.MAX_VALUE;
+    while (running || !buffer.isEmpty()) {
+      try {
+        long timeout = batch.isEmpty() ? flushIntervalMs : flushDeadline - System.currentTimeMillis();
+        PendingPoint pending = buffer.poll(Math.max(0, timeout), TimeUnit.MILLISECONDS);
+        if (pending != null) {
+          if (batch.isEmpty()) {
+            flushDeadline = System.currentTimeMillis() + flushIntervalMs;
+          }
+          batch.add(pending);
+          bytes += pending.line.length() + 1;
+        }
+        if (!batch.isEmpty() && (batch.size() >= batchSize || bytes >= batchBytes
+            || System.currentTimeMillis() >= flushDeadline)) {
+          flush(batch);
+          batch = new ArrayList<>(batchSize);
+          bytes = 0;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    if (!batch.isEmpty()) {
+      writeBatch(batch);
+    }
+  }
+
+  private void flush(List<PendingPoint> batch) throws InterruptedException {
+    inFlightBatches.acquire();
+    BatchWrite write = new BatchWrite(batch);
+    unfinishedBatches.add(write);
+    try {
+      batchWriters.execute(write);
+    } catch (RejectedExecutionException e) {
+      // the writers were shut down while the flusher was still running
+      unfinishedBatches.remove(write);
+      inFlightBatches.release();
+      writeBatch(batch);
+    }
+  }
+
+  private void writeBatch(List<PendingPoint> batch) {
+    List<String> lines = new ArrayList<>(batch.size());
+    for (PendingPoint pending : batch) {
+      lines.add(pending.line);
+    }
+    if (influxDbAvailable) {
+      long start = System.nanoTime();
+      try {
+        writeApi.writeRecords(WritePrecision.MS, lines);
+        writeLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        recordWritten(batch);
+        logger.debug("Wrote batch of {} points", batch.size());
+        return;
+      } catch (InfluxException e) {
+        writeErrors.increment();
+        if (isRejected(e)) {
+          reject(lines, e);
+          return;
+        }
+        influxDbAvailable = false;
+        logger.error("Failed to write batch of {} points, buffering until InfluxDB is available: {}",
+            batch.size(), e.getMessage());
+      }
+    }
+    // an interrupted write must still reach the write-ahead buffer, whose file channel would be closed by the interrupt
+    boolean interrupted = Thread.interrupted();
+    try {
+      writeAheadBuffer.append(lines);
+      pointsBuffered.addAndGet(lines.size());
+    } catch (IOException e) {
+      pointsDropped.addAndGet(lines.size());
+      logger.error("Failed to buffer batch of {} points, dropped it: {}", batch.size(), e.getMessage());
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private void replayWriteAheadBuffer() {
+    try {
+      if (!influxDbAvailable) {
+        if (!isHealthy()) {
+          return;
+        }
+        influxDbAvailable = true;
+        logger.info("InfluxDB is available again, replaying buffered batches");
+      }
+      if (!writeAheadBuffer.isEmpty()) {
+        long lines = writeAheadBuffer.replay(batch -> {
+          try {
+            writeApi.writeRecords(WritePrecision.MS, batch);
+            pointsWritten.increment(batch.size());
+          } catch (InfluxException e) {
+            if (!isRejected(e)) {
+              throw e;
+            }
+            // returning normally skips the rejected record instead of keeping its segment forever
+            writeErrors.increment();
+            reject(batch, e);
+          }
+        });
+        logger.info("Replayed {} buffered points", lines);
+      }
+    } catch (IOException | RuntimeException e) {
+      writeErrors.increment();
+      influxDbAvailable = false;
+      logger.error("Failed to replay buffered batches: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * InfluxDB answers with a client error to a batch which it will never accept, e.g. because of a malformed line or a
+   * field type conflict. Server errors, throttling, timeouts and I/O errors, which have no status, may pass later.
+   */
+  private static boolean isRejected(InfluxException e) {
+    int status = e.status();
+    return status >= 400 && status < 500 && status != 408 && status != 429;
+  }
+
+  private void reject(List<String> lines, InfluxException e) {
+    pointsRejected.increment(lines.size());
+    pointsDropped.addAndGet(lines.size());
+    logger.error("InfluxDB rejected batch of {} points with status {}, dropped it: {}", lines.size(), e.status(),
+        e.getMessage());
+  }
+
+  private void recordWritten(List<PendingPoint> batch) {
+    long now = System.currentTimeMillis();
+    for (PendingPoint pending : batch) {
+      lag.record(Math.max(0, now - pending.timestampMillis), TimeUnit.MILLISECONDS);
+    }
+    pointsWritten.increment(batch.size());
+    batchSizes.record(batch.size());
+  }
+
+  private boolean isHealthy() {
+    try {
+      return client.health().getStatus() == HealthCheck.StatusEnum.PASS;
+    } catch (RuntimeException e) {
+      return false;
+    }
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    long deadline = System.currentTimeMillis() + shutdownTimeoutMs;
+    long pending = buffer.size();
+    double writtenBefore = pointsWritten.count();
+    long bufferedBefore = pointsBuffered.get();
+    long droppedBefore = pointsDropped.get();
+    replayer.shutdownNow();
+
+    running = false;
+    flusher.join(Math.max(1, deadline - System.currentTimeMillis()));
+    batchWriters.shutdown();
+    if (!batchWriters.awaitTermination(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)
+        || flusher.isAlive()) {
+      logger.warn("Could not write all points within {} ms, buffering the rest on disk", shutdownTimeoutMs);
+      influxDbAvailable = false;
+      flusher.interrupt();
+      batchWriters.shutdownNow();
+      flusher.join(TimeUnit.SECONDS.toMillis(5));
+      batchWriters.awaitTermination(5, TimeUnit.SECONDS);
+    }
+    List<PendingPoint> rest = new ArrayList<>();
+    // batches discarded by shutdownNow before they ran, or whose write did not finish, are buffered as well; writing
+    // a batch both to InfluxDB and to the write-ahead buffer only overwrites its points with the same values
+    for (BatchWrite write : unfinishedBatches) {
+      if (unfinishedBatches.remove(write)) {
+        rest.addAll(write.batch);
+      }
+    }
+    buffer.drainTo(rest);
+    if (!rest.isEmpty()) {
+      influxDbAvailable = false;
+      writeBatch(rest);
+    }
+
+    logger.info("Shutdown with {} pending points: wrote {}, buffered {} on disk for the next start, dropped {}",
+        pending, (long) (pointsWritten.count() - writtenBefore), pointsBuffered.get() - bufferedBefore,
+        pointsDropped.get() - droppedBefore);
+  }
+
+  /**
+   * Writes a batch and tracks it until it is written or buffered, so that shutdown can buffer unfinished batches.
+   */
+  private final class BatchWrite implements Runnable {
+
+    private final List<PendingPoint> batch;
+
+    private BatchWrite(List<PendingPoint> batch) {
+      this.batch = batch;
+    }
+
+    @Override
+    public void run() {
+      try {
+        writeBatch(batch);
+      } finally {
+        unfinishedBatches.remove(this);
+        inFlightBatches.release();
+      }
+    }
+  }
+
+  private static final class PendingPoint {
+
+    private final String line;
+    private final long timestampMillis;
+
+    private PendingPoint(String line, long timestampMillis) {
+      this.line = line;
+      this.timestampMillis = timestampMillis;
+    }
+  }
+
+}
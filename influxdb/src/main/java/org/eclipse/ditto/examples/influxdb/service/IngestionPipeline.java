@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.ditto.examples.influxdb.service;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Service;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounded queue and worker threads between the Ditto client, which submits updates from its event dispatch thread,
+ * and InfluxDB. A slow InfluxDB therefore only fills the queue instead of stalling the WebSocket consumption; what
+ * happens when the queue is full is defined by the {@link OverflowPolicy}.
+ * <p>
+ * Exposes the metrics {@code bridge.pipeline.queue.depth}, {@code bridge.pipeline.dropped} and
+ * {@code bridge.pipeline.spilled}, tagged with the shard.
+ * <p>
+ * Every shard consumed from Ditto has its own pipeline, which is stopped by its owner, while all of them write to the
+ * shared {@link InfluxDBWriter}.
+ */
+@Service
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+public class IngestionPipeline {
+
+  private static final Logger logger = LoggerFactory.getLogger(IngestionPipeline.class);
+
+  @Autowired
+  InfluxDBService influxDbService;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Autowired
+  BlockingThreads blockingThreads;
+
+  @Value("${influxdb.pipeline.queue-capacity:10000}")
+  int queueCapacity;
+
+  @Value("${influxdb.pipeline.workers:2}")
+  int workers;
+
+  @Value("${influxdb.pipeline.overflow-policy:BLOCK}")
+  OverflowPolicy overflowPolicy;
+
+  @Value("${influxdb.pipeline.spill-directory:spill}")
+  String spillDirectory;
+
+  @Value("${influxdb.shutdown.timeout-ms:20000}")
+  long shutdownTimeoutMs;
+
+  private final String shard;
+  private BlockingQueue<FeaturesUpdate> queue;
+  private List<Thread> workerThreads;
+  private Thread replayThread;
+  private SpillFile spillFile;
+  private Counter dropped;
+  private Counter spilled;
+  private volatile boolean running;
+
+  public IngestionPipeline(String shard) {
+    this.shard = shard;
+  }
+
+  @PostConstruct
+  void start() throws IOException {
+    queue = new ArrayBlockingQueue<>(queueCapacity);
+    Gauge.builder("bridge.pipeline.queue.depth", queue, BlockingQueue::size)
+        .description("Features updates waiting to be written to InfluxDB")
+        .tag("shard", shard)
+        .register(meterRegistry);
+    dropped = Counter.builder("bridge.pipeline.dropped")
+        .description("Features updates dropped because the pipeline queue was full")
+        .tag("shard", shard)
+        .register(meterRegistry);
+    spilled = Counter.builder("bridge.pipeline.spilled")
+        .description("Features updates spilled to disk because the pipeline queue was full")
+        .tag("shard", shard)
+        .register(meterRegistry);
+
+    running = true;
+    workerThreads = new ArrayList<>(workers);
+    for (int i = 1; i <= workers; i++) {
+      workerThreads.add(blockingThreads.start("ingestion-worker-" + shard + "-" + i, this::process));
+    }
+    if (overflowPolicy == OverflowPolicy.SPILL) {
+      spillFile = new SpillFile(Paths.get(spillDirectory, shard));
+      replayThread = new Thread(this::replaySpilled, "ingestion-spill-replay-" + shard);
+      replayThread.setDaemon(true);
+      replayThread.start();
+    }
+  }
+
+  /**
+   * Queues the update for writing, waiting for space if the queue is full regardless of the overflow policy. Meant
+   * for producers which may be slowed down, unlike the event dispatch thread of the Ditto client. Updates put after
+   * the pipeline was stopped are dropped.
+   *
+   * @param update the update to write.
+   * @throws InterruptedException if interrupted while waiting for space.
+   */
+  public void put(FeaturesUpdate update) throws InterruptedException {
+    if (!running) {
+      dropped.increment();
+      logger.warn("Dropped update of '{}' as shard '{}' is stopped", update.getThingId(), shard);
+      return;
+    }
+    queue.put(update);
+  }
+
+  /**
+   * Queues the update for writing, applying the overflow policy if the queue is full.
+   *
+   * @param update the update to write.
+   */
+  public void submit(FeaturesUpdate update) {
+    if (queue.offer(update)) {
+      return;
+    }
+    switch (overflowPolicy) {
+      case DROP_OLDEST:
+        while (!queue.offer(update)) {
+          if (queue.poll() != null) {
+            dropped.increment();
+          }
+        }
+        break;
+      case SPILL:
+        try {
+          spillFile.append(update);
+          spilled.increment();
+        } catch (IOException e) {
+          dropped.increment();
+          logger.error("Failed to spill update of '{}', dropped it: {}", update.getThingId(), e.getMessage());
+        }
+        break;
+      case BLOCK:
+      default:
+        try {
+          queue.put(update);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          dropped.increment();
+        }
+    }
+  }
+
+  private void process() {
+    while (running || !queue.isEmpty()) {
+      try {
+        FeaturesUpdate update = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (update != null) {
+          influxDbService.save(update);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        logger.error("Failed to process features update", e);
+      }
+    }
+  }
+
+  private void replaySpilled() {
+    while (running) {
+      try {
+        if (queue.isEmpty() && !spillFile.isEmpty()) {
+          spillFile.replay(update -> {
+            try {
+              queue.put(update);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              throw new IllegalStateException("Interrupted while replaying spilled updates", e);
+            }
+          });
+        } else {
+          Thread.sleep(1000);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (IOException | RuntimeException e) {
+        logger.error("Failed to replay spilled updates: {}", e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Stops the workers once they processed the queued updates, waiting at most {@code influxdb.shutdown.timeout-ms}.
+   * Updates which are still queued then are spilled if the overflow policy is {@code SPILL}, otherwise dropped.
+   */
+  public void stop() throws InterruptedException, IOException {
+    long deadline = System.currentTimeMillis() + shutdownTimeoutMs;
+    running = false;
+    if (replayThread != null) {
+      replayThread.interrupt();
+      replayThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+    for (Thread worker : workerThreads) {
+      worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+    }
+    List<FeaturesUpdate> rest = new ArrayList<>();
+    queue.drainTo(rest);
+    for (FeaturesUpdate update : rest) {
+      if (spillFile != null) {
+        spillFile.append(update);
+        spilled.increment();
+      } else {
+        dropped.increment();
+      }
+    }
+    if (!rest.isEmpty()) {
+      logger.warn("Shard '{}' stopped with {} unprocessed updates, which were {}", shard, rest.size(),
+          spillFile != null ? "spilled" : "dropped");
+    }
+    if (spillFile != null) {
+      spillFile.close();
+    }
+  }
+
+}
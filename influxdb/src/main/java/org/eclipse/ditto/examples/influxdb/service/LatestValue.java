@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.service;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonObjectBuilder;
+import org.eclipse.ditto.json.JsonValue;
+
+/**
+ * Immutable latest fields of a feature, as last written to InfluxDB.
+ */
+public final class LatestValue {
+
+  private final Map<String, Object> fields;
+  private final long revision;
+  private final Instant timestamp;
+
+  LatestValue(Map<String, Object> fields, long revision, Instant timestamp) {
+    this.fields = Collections.unmodifiableMap(fields);
+    this.revision = revision;
+    this.timestamp = timestamp;
+  }
+
+  /**
+   * Combines the fields of a later change with these, as a change only contains the changed fields. A change with an
+   * older revision, which was processed out of order, does not replace any field.
+   *
+   * @param later the fields of the later change.
+   * @return the combined fields.
+   */
+  LatestValue merge(LatestValue later) {
+    if (later.revision > 0 && later.revision < revision) {
+      return this;
+    }
+    Map<String, Object> merged = new HashMap<>(fields);
+    merged.putAll(later.fields);
+    return new LatestValue(merged, later.revision, later.timestamp);
+  }
+
+  public Map<String, Object> getFields() {
+    return fields;
+  }
+
+  public long getRevision() {
+    return revision;
+  }
+
+  public Instant getTimestamp() {
+    return timestamp;
+  }
+
+  public JsonObject toJson() {
+    JsonObjectBuilder fieldsJson = JsonFactory.newObjectBuilder();
+    fields.forEach((name, value) -> fieldsJson.set(name, value instanceof Boolean
+        ? JsonValue.of((Boolean) value)
+        : JsonValue.of(((Number) value).doubleValue())));
+    return JsonFactory.newObjectBuilder()
+        .set("revision", revision)
+        .set("timestamp", timestamp.toString())
+        .set("fields", fieldsJson.build())
+        .build();
+  }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.service;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Index of the latest fields per thing and feature, which answers "latest value" queries of dashboards without an
+ * expensive {@code last()} query on InfluxDB. It is compacted from the stream of changes: every change replaces the
+ * fields it contains, and deleting a thing evicts it.
+ * <p>
+ * The changes of a deleted thing may still be queued in its pipeline when the deletion arrives. An evicted thing
+ * therefore leaves a tombstone with the revision of its deletion for {@link #TOMBSTONE_TTL_MS}, and only changes with
+ * a newer revision, e.g. of the re-created thing, bring it back.
+ * <p>
+ * Exposes the number of cached things as {@code bridge.latest.things}.
+ */
+@Component
+public class LatestValueCache {
+
+  static final long TOMBSTONE_TTL_MS = TimeUnit.MINUTES.toMillis(10);
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  private final Map<String, CachedThing> things = new ConcurrentHashMap<>();
+  private final Queue<CachedThing> tombstones = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger liveThings = new AtomicInteger();
+
+  @PostConstruct
+  void start() {
+    Gauge.builder("bridge.latest.things", liveThings, AtomicInteger::get)
+        .description("Things whose latest values are cached")
+        .register(meterRegistry);
+  }
+
+  void update(String thingId, String featureId, Map<String, Object> fields, long revision, Instant timestamp) {
+    if (fields.isEmpty()) {
+      return;
+    }
+    things.compute(thingId, (id, thing) -> {
+      if (thing != null && thing.isDeleted()) {
+        if (revision <= thing.deletedRevision) {
+          return thing;
+        }
+        thing = null;
+      }
+      if (thing == null) {
+        thing = new CachedThing(id, 0);
+        liveThings.incrementAndGet();
+      }
+      thing.features.merge(featureId, new LatestValue(fields, revision, timestamp), LatestValue::merge);
+      return thing;
+    });
+  }
+
+  /**
+   * @param thingId the ID of a deleted thing.
+   * @param revision the revision of the deletion, which changes still to be processed must exceed to be cached again.
+   */
+  public void evict(String thingId, long revision) {
+    purgeTombstones(System.currentTimeMillis());
+    CachedThing tombstone = new CachedThing(thingId, Math.max(1, revision));
+    CachedThing evicted = things.put(thingId, tombstone);
+    if (evicted != null && !evicted.isDeleted()) {
+      liveThings.decrementAndGet();
+    }
+    tombstones.add(tombstone);
+  }
+
+  private void purgeTombstones(long now) {
+    CachedThing oldest;
+    while ((oldest = tombstones.peek()) != null && now - oldest.deletedAtMillis > TOMBSTONE_TTL_MS) {
+      if (tombstones.remove(oldest)) {
+        // a thing which was re-created in the meantime has replaced its tombstone
+        things.remove(oldest.thingId, oldest);
+      }
+    }
+  }
+
+  /**
+   * @param thingId the ID of the thing.
+   * @return the latest values of the features of the thing, keyed by feature ID.
+   */
+  public Optional<Map<String, LatestValue>> get(String thingId) {
+    return Optional.ofNullable(things.get(thingId))
+        .filter(thing -> !thing.isDeleted())
+        .map(thing -> Collections.unmodifiableMap(thing.features));
+  }
+
+  /**
+   * @param thingId the ID of the thing.
+   * @param featureId the ID of the feature.
+   * @return the latest values of the feature.
+   */
+  public Optional<LatestValue> get(String thingId, String featureId) {
+    return get(thingId).map(features -> features.get(featureId));
+  }
+
+  /**
+   * The latest values of the features of a thing, or the tombstone of a deleted thing.
+   */
+  private static final class CachedThing {
+
+    private final String thingId;
+    private final Map<String, LatestValue> features = new ConcurrentHashMap<>();
+    private final long deletedRevision;
+    private final long deletedAtMillis;
+
+    private CachedThing(String thingId, long deletedRevision) {
+      this.thingId = thingId;
+      this.deletedRevision = deletedRevision;
+      deletedAtMillis = deletedRevision > 0 ? System.currentTimeMillis() : 0;
+    }
+
+    private boolean isDeleted() {
+      return deletedRevision > 0;
+    }
+  }
+
+}
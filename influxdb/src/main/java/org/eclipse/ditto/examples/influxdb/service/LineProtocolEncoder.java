@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encodes points directly into InfluxDB line protocol with millisecond precision, without building a
+ * {@link com.influxdb.client.write.Point} for each of them.
+ * <p>
+ * The escaped measurement and tags of a series are cached, so only the field keys are escaped per point. Every thread
+ * encodes into its own reused {@link StringBuilder}.
+ */
+final class LineProtocolEncoder {
+
+  private static final int MAX_CACHED_SERIES = 100_000;
+
+  private final Map<Series, String> seriesKeys = new ConcurrentHashMap<>();
+  private final ThreadLocal<StringBuilder> lines = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+  /**
+   * @param series the measurement and tags of the point.
+   * @param fields the fields of the point, whose values are numbers or booleans.
+   * @param timestamp the time of the point.
+   * @return the line or {@code null} if none of the fields can be written, e.g. because it is {@code NaN}.
+   */
+  String encode(Series series, Map<String, Object> fields, Instant timestamp) {
+    StringBuilder line = lines.get();
+    line.setLength(0);
+    line.append(seriesKey(series)).append(' ');
+    int fieldsStart = line.length();
+    for (Map.Entry<String, Object> field : fields.entrySet()) {
+      int fieldStart = line.length();
+      if (fieldStart > fieldsStart) {
+        line.append(',');
+      }
+      escape(field.getKey(), line, true);
+      line.append('=');
+      if (!appendValue(field.getValue(), line)) {
+        line.setLength(fieldStart);
+      }
+    }
+    if (line.length() == fieldsStart) {
+      return null;
+    }
+    return line.append(' ').append(timestamp.toEpochMilli()).toString();
+  }
+
+  private String seriesKey(Series series) {
+    String key = seriesKeys.get(series);
+    if (key == null) {
+      if (seriesKeys.size() >= MAX_CACHED_SERIES) {
+        seriesKeys.clear();
+      }
+      key = encodeSeriesKey(series);
+      seriesKeys.put(series, key);
+    }
+    return key;
+  }
+
+  private static String encodeSeriesKey(Series series) {
+    StringBuilder key = new StringBuilder();
+    escape(series.getMeasurement(), key, false);
+    series.getTags().forEach((tag, value) -> {
+      if (!value.isEmpty()) {
+        key.append(',');
+        escape(tag, key, true);
+        key.append('=');
+        escape(value, key, true);
+      }
+    });
+    return key.toString();
+  }
+
+  private static boolean appendValue(Object value, StringBuilder line) {
+    if (value instanceof Double || value instanceof Float) {
+      double number = ((Number) value).doubleValue();
+      if (Double.isNaN(number) || Double.isInfinite(number)) {
+        return false;
+      }
+      line.append(number);
+    } else if (value instanceof Number) {
+      line.append(((Number) value).longValue()).append('i');
+    } else if (value instanceof Boolean) {
+      line.append((boolean) (Boolean) value);
+    } else {
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Escapes backslashes, commas and spaces, and equal signs in keys and tag values, which a measurement may contain
+   * unescaped. Line breaks, which separate points and cannot be escaped, are replaced by spaces.
+   */
+  private static void escape(String value, StringBuilder target, boolean escapeEquals) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\n' || c == '\r') {
+        c = ' ';
+      }
+      if (c == ',' || c == ' ' || c == '\\' || (escapeEquals && c == '=')) {
+        target.append('\\');
+      }
+      target.append(c);
+    }
+  }
+
+}
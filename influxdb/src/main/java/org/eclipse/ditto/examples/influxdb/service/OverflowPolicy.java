@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.ditto.examples.influxdb.service;
+
+/**
+ * Defines what the ingestion pipeline does with an update if its queue is full.
+ */
+public enum OverflowPolicy {
+
+  /**
+   * Block the Ditto client thread until there is space in the queue.
+   */
+  BLOCK,
+
+  /**
+   * Drop the oldest queued update to make space for the new one.
+   */
+  DROP_OLDEST,
+
+  /**
+   * Append the update to a file on disk and re-queue it once the queue has drained.
+   */
+  SPILL
+
+}
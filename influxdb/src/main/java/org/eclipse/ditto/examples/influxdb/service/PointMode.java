@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.ditto.examples.influxdb.service;
+
+/**
+ * Defines how the features of a single change are turned into InfluxDB points.
+ * <p>
+ * In both modes, a point is written to the measurement which {@link SeriesMapping} maps the feature to and tagged with
+ * the {@code deviceId} and the mapped tags. Its fields are the properties flattened by
+ * {@link FeaturePropertiesFlattener}, named by the feature ID followed by the property path, e.g.
+ * {@code pressure.unit.factor}.
+ */
+public enum PointMode {
+
+  /**
+   * One point per changed feature, holding the flattened properties of that feature as fields.
+   */
+  PER_FEATURE,
+
+  /**
+   * One point per change and mapped measurement, holding the flattened properties of all changed features mapped to
+   * that measurement as fields, timestamped with the change.
+   */
+  PER_CHANGE
+
+}
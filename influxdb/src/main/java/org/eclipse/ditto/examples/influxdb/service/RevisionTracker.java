@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.service;
+
+import javax.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Remembers the highest revision written per thing, so that changes which Ditto delivers again after a reconnect, or
+ * which the backfill finds in an older state, are dropped instead of being written twice.
+ * <p>
+ * The deduplication is best-effort: a revision is recorded when its update is submitted to the pipeline, not when its
+ * points were written. An update which is dropped later, by the {@code DROP_OLDEST} overflow policy, by a full write
+ * buffer or because InfluxDB rejected its batch, is therefore not written again if Ditto redelivers it or the
+ * backfill finds it. Use the {@code BLOCK} or {@code SPILL} overflow policy if this must not happen.
+ * <p>
+ * The revisions are kept in an open addressing hash table of a thing ID array and a primitive {@code long} array,
+ * which needs no entry or boxed value per thing. Exposes the number of dropped changes as
+ * {@code bridge.changes.duplicate} and of tracked things as {@code bridge.revisions.tracked}.
+ */
+@Component
+public class RevisionTracker {
+
+  static final int INITIAL_CAPACITY = 1024;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  private String[] thingIds = new String[INITIAL_CAPACITY];
+  private long[] revisions = new long[INITIAL_CAPACITY];
+  private int size;
+  private Counter duplicates;
+
+  @PostConstruct
+  void start() {
+    Gauge.builder("bridge.revisions.tracked", this, RevisionTracker::size)
+        .description("Things whose last written revision is tracked")
+        .register(meterRegistry);
+    duplicates = Counter.builder("bridge.changes.duplicate")
+        .description("Changes dropped because their revision was already written")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Records the revision of the update if it is newer than the last one of its thing, before the update is written.
+   * Updates without a revision are always accepted.
+   *
+   * @param update the update to write.
+   * @return whether the update is to be written.
+   */
+  public synchronized boolean advance(FeaturesUpdate update) {
+    long revision = update.getRevision();
+    if (revision <= 0) {
+      return true;
+    }
+    int index = indexOf(update.getThingId());
+    if (thingIds[index] == null) {
+      thingIds[index] = update.getThingId();
+      revisions[index] = revision;
+      if (++size * 2 > thingIds.length) {
+        resize();
+      }
+      return true;
+    }
+    if (revisions[index] >= revision) {
+      duplicates.increment();
+      return false;
+    }
+    revisions[index] = revision;
+    return true;
+  }
+
+  /**
+   * Forgets the revision of a deleted thing to free its entry. Ditto continues the revisions of a thing which is
+   * created again, so its changes are newer than the forgotten revision anyway.
+   *
+   * @param thingId the ID of the thing.
+   */
+  public synchronized void forget(String thingId) {
+    int index = indexOf(thingId);
+    if (thingIds[index] == null) {
+      return;
+    }
+    // shift back the following entries of the probe sequence, so that none of them becomes unreachable
+    int mask = thingIds.length - 1;
+    int gap = index;
+    for (int next = (gap + 1) & mask; thingIds[next] != null; next = (next + 1) & mask) {
+      int home = slot(thingIds[next], mask);
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        thingIds[gap] = thingIds[next];
+        revisions[gap] = revisions[next];
+        gap = next;
+      }
+    }
+    thingIds[gap] = null;
+    revisions[gap] = 0;
+    size--;
+  }
+
+  synchronized int size() {
+    return size;
+  }
+
+  private int indexOf(String thingId) {
+    int mask = thingIds.length - 1;
+    int index = slot(thingId, mask);
+    while (thingIds[index] != null && !thingIds[index].equals(thingId)) {
+      index = (index + 1) & mask;
+    }
+    return index;
+  }
+
+  static int slot(String thingId, int mask) {
+    int hash = thingId.hashCode() * 0x9E3779B9;
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+
+  private void resize() {
+    String[] oldThingIds = thingIds;
+    long[] oldRevisions = revisions;
+    thingIds = new String[oldThingIds.length * 2];
+    revisions = new long[oldRevisions.length * 2];
+    for (int i = 0; i < oldThingIds.length; i++) {
+      if (oldThingIds[i] != null) {
+        int index = indexOf(oldThingIds[i]);
+        thingIds[index] = oldThingIds[i];
+        revisions[index] = oldRevisions[i];
+      }
+    }
+  }
+
+}
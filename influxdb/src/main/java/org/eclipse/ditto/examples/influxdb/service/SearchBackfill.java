@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.ditto.examples.influxdb.service;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.eclipse.ditto.client.DittoClient;
+import org.eclipse.ditto.examples.influxdb.config.DittoConfig;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.model.things.Attributes;
+import org.eclipse.ditto.model.things.Features;
+import org.eclipse.ditto.model.things.Thing;
+import org.eclipse.ditto.model.things.ThingRevision;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Service;
+
+/**
+ * Writes the current features of all things in a namespace to InfluxDB, so that restarting the bridge does not
+ * leave a gap for the changes it missed while it was down.
+ * <p>
+ * The things are streamed from the Ditto search, which pages through the results with a cursor, and handed to the
+ * {@link IngestionPipeline} whose workers write them in parallel batches. Live changes are consumed while the backfill
+ * runs; each thing is only written by the backfill if the {@link RevisionTracker} has not seen its revision or a newer
+ * one already.
+ * <p>
+ * On startup, every consumed namespace is backfilled completely. After a reconnect, only the things modified since the
+ * connection was lost are backfilled. Either way, only things matching {@code ditto.consumption.filter} are
+ * backfilled, like only their changes are consumed.
+ * <p>
+ * A backfill which is still running on shutdown is {@linkplain #stop(long) stopped} before its pipeline, so that it
+ * does not hand things to a stopped pipeline.
+ */
+@Service
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+public class SearchBackfill {
+
+  private static final Logger logger = LoggerFactory.getLogger(SearchBackfill.class);
+
+  private static final String ATTRIBUTES = "attributes";
+  private static final String FIELDS = "thingId,attributes,features,_revision,_modified";
+
+  @Autowired
+  DittoConfig config;
+
+  @Autowired
+  RevisionTracker revisionTracker;
+
+  @Autowired
+  BlockingThreads blockingThreads;
+
+  @Value("${influxdb.backfill.enabled:true}")
+  boolean enabled;
+
+  @Value("${influxdb.backfill.page-size:200}")
+  int pageSize;
+
+  private final String namespace;
+  private final DittoClient client;
+  private final IngestionPipeline pipeline;
+  private volatile Thread thread;
+  private volatile boolean cancelled;
+
+  public SearchBackfill(String namespace, DittoClient client, IngestionPipeline pipeline) {
+    this.namespace = namespace;
+    this.client = client;
+    this.pipeline = pipeline;
+  }
+
+  /**
+   * Starts the backfill of all things in the background if it is enabled.
+   */
+  public void start() {
+    if (enabled) {
+      start(null);
+    }
+  }
+
+  /**
+   * Starts the backfill of the things modified since the given time in the background.
+   *
+   * @param since the time from which on modified things are backfilled.
+   */
+  public void startModifiedSince(Instant since) {
+    start("gt(_modified,\"" + since + "\")");
+  }
+
+  private void start(String modifiedFilter) {
+    String filter = combineWithConsumptionFilter(modifiedFilter);
+    thread = blockingThreads.start("ditto-search-backfill-" + namespace, () -> run(filter));
+  }
+
+  /**
+   * Cancels the backfill if it is running, without waiting for it to end.
+   */
+  public void cancel() {
+    cancelled = true;
+    Thread running = thread;
+    if (running != null) {
+      running.interrupt();
+    }
+  }
+
+  /**
+   * Cancels the backfill if it is running and waits for it to end.
+   *
+   * @param timeoutMs how long to wait at most.
+   * @throws InterruptedException if interrupted while waiting.
+   */
+  public void stop(long timeoutMs) throws InterruptedException {
+    cancel();
+    Thread running = thread;
+    if (running != null) {
+      running.join(timeoutMs);
+      if (running.isAlive()) {
+        logger.warn("Backfill of namespace '{}' did not end within {} ms", namespace, timeoutMs);
+      }
+    }
+  }
+
+  private String combineWithConsumptionFilter(String modifiedFilter) {
+    String consumptionFilter = config.getFilter();
+    if (consumptionFilter.isEmpty()) {
+      return modifiedFilter;
+    }
+    return modifiedFilter == null ? consumptionFilter : "and(" + consumptionFilter + "," + modifiedFilter + ")";
+  }
+
+  /**
+   * @param filter the RQL filter of the things to backfill, {@code null} for all.
+   */
+  private void run(String filter) {
+    long start = System.nanoTime();
+    long written = 0;
+    long skipped = 0;
+    try (Stream<Thing> things = client.twin().search().stream(query -> query.namespace(namespace)
+        .filter(filter)
+        .fields(FIELDS)
+        .options("size(" + pageSize + ")"))) {
+      Iterator<Thing> iterator = things.iterator();
+      while (!cancelled && iterator.hasNext()) {
+        FeaturesUpdate update = toUpdate(iterator.next());
+        if (update != null && revisionTracker.advance(update)) {
+          pipeline.put(update);
+          written++;
+        } else {
+          skipped++;
+        }
+      }
+      logger.info("{} {} things of namespace '{}' matching {} from the search in {} ms, skipped {}",
+          cancelled ? "Cancelled backfill after" : "Backfilled", written, namespace, filter == null ? "all" : filter,
+          (System.nanoTime() - start) / 1_000_000, skipped);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.info("Cancelled backfill of namespace '{}' after {} things", namespace, written);
+    } catch (RuntimeException e) {
+      logger.error("Backfill of namespace '{}' from the search failed after {} things: {}", namespace, written,
+          e.getMessage());
+    }
+  }
+
+  private static FeaturesUpdate toUpdate(Thing thing) {
+    if (!thing.getEntityId().isPresent() || !thing.getFeatures().isPresent()) {
+      return null;
+    }
+    return new FeaturesUpdate(thing.getEntityId().get().toString(),
+        thing.getFeatures().map(Features::toJson).orElse(JsonFactory.newObject()),
+        thing.getRevision().map(ThingRevision::toLong).orElse(0L),
+        thing.getModified().orElse(Instant.now()),
+        JsonFactory.newObjectBuilder().set(ATTRIBUTES, thing.getAttributes().map(Attributes::toJson)
+            .orElse(JsonFactory.newObject())).build());
+  }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.service;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Identifies an InfluxDB series by its measurement and tags.
+ */
+final class Series {
+
+  private final String measurement;
+  private final SortedMap<String, String> tags;
+  private final int hashCode;
+
+  Series(String measurement, Map<String, String> tags) {
+    this.measurement = measurement;
+    this.tags = Collections.unmodifiableSortedMap(new TreeMap<>(tags));
+    hashCode = Objects.hash(measurement, this.tags);
+  }
+
+  String getMeasurement() {
+    return measurement;
+  }
+
+  /**
+   * @return the tags, sorted by key.
+   */
+  SortedMap<String, String> getTags() {
+    return tags;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Series)) {
+      return false;
+    }
+    Series series = (Series) o;
+    return measurement.equals(series.measurement) && tags.equals(series.tags);
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+
+  /**
+   * @return the series key as in the line protocol, e.g. {@code weather,deviceId=org.acme:my-dev}.
+   */
+  @Override
+  public String toString() {
+    StringBuilder key = new StringBuilder(measurement);
+    tags.forEach((tag, value) -> key.append(',').append(tag).append('=').append(value));
+    return key.toString();
+  }
+
+}
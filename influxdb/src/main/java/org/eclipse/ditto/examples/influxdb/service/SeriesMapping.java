@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.annotation.PostConstruct;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps features changes to the series their points are written to.
+ * <p>
+ * The measurement of a feature is looked up in the comma separated rules {@code influxdb.measurements} of the form
+ * {@code <definition or feature ID>=<measurement>}. A definition is matched with its version, e.g.
+ * {@code org.acme:thermometer:1.0.0}, or without it, e.g. {@code org.acme:thermometer}; as changes only contain the
+ * definition if it changed, feature IDs are the more reliable key. Features without a rule are written to
+ * {@code influxdb.measurement}.
+ * <p>
+ * Besides the {@code deviceId}, a point is tagged by the comma separated rules {@code influxdb.tags} of the form
+ * {@code <tag>=<JSON pointer>}, e.g. {@code site=/attributes/site}. The pointers address the extra fields of the
+ * change, which must therefore be requested by {@code ditto.consumption.extra-fields}.
+ */
+@Component
+public class SeriesMapping {
+
+  private static final String DEFINITION = "definition";
+
+  @Value("${influxdb.measurement:weather}")
+  String defaultMeasurement;
+
+  @Value("${influxdb.measurements:}")
+  String[] measurementRules;
+
+  @Value("${influxdb.tags:}")
+  String[] tagRules;
+
+  private Map<String, String> measurements;
+  private Map<String, JsonPointer> tags;
+
+  @PostConstruct
+  void compile() {
+    measurements = parse(measurementRules, "influxdb.measurements");
+    tags = new LinkedHashMap<>();
+    parse(tagRules, "influxdb.tags").forEach((tag, pointer) -> tags.put(tag, JsonPointer.of(pointer)));
+  }
+
+  private static Map<String, String> parse(String[] rules, String property) {
+    Map<String, String> parsed = new LinkedHashMap<>();
+    for (String rule : rules) {
+      String trimmed = rule.trim();
+      if (trimmed.isEmpty()) {
+        continue;
+      }
+      int separator = trimmed.lastIndexOf('=');
+      if (separator <= 0 || separator == trimmed.length() - 1) {
+        throw new IllegalArgumentException("Invalid rule '" + trimmed + "' in " + property);
+      }
+      parsed.put(trimmed.substring(0, separator).trim(), trimmed.substring(separator + 1).trim());
+    }
+    return parsed;
+  }
+
+  /**
+   * @param featureId the ID of the feature.
+   * @param feature the feature as contained in the change.
+   * @return the measurement to write the fields of the feature to.
+   */
+  public String measurementOf(String featureId, JsonValue feature) {
+    if (!measurements.isEmpty() && feature.isObject()) {
+      JsonValue definition = feature.asObject().getValue(DEFINITION).orElse(JsonValue.nullLiteral());
+      if (definition.isArray()) {
+        for (JsonValue identifier : definition.asArray()) {
+          String measurement = identifier.isString() ? measurementOfDefinition(identifier.asString()) : null;
+          if (measurement != null) {
+            return measurement;
+          }
+        }
+      }
+    }
+    return measurements.getOrDefault(featureId, defaultMeasurement);
+  }
+
+  private String measurementOfDefinition(String identifier) {
+    String measurement = measurements.get(identifier);
+    int versionSeparator = identifier.lastIndexOf(':');
+    if (measurement == null && versionSeparator > 0) {
+      measurement = measurements.get(identifier.substring(0, versionSeparator));
+    }
+    return measurement;
+  }
+
+  /**
+   * @param update the change.
+   * @return the tags of the points written for the change.
+   */
+  public Map<String, String> tagsOf(FeaturesUpdate update) {
+    Map<String, String> tagValues = new TreeMap<>();
+    tagValues.put(InfluxDBService.DEVICE_ID_TAG, update.getThingId());
+    tags.forEach((tag, pointer) -> update.getExtra().getValue(pointer)
+        .filter(value -> !value.isNull() && !value.isObject() && !value.isArray())
+        .ifPresent(value -> tagValues.put(tag, value.isString() ? value.asString() : value.toString())));
+    return tagValues;
+  }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.ditto.examples.influxdb.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import org.eclipse.ditto.json.JsonFactory;
+
+/**
+ * Append-only file of features updates, one JSON object per line, which overflowed the ingestion pipeline.
+ */
+final class SpillFile {
+
+  private final Path file;
+  private final Path replayFile;
+
+  private BufferedWriter writer;
+  private long spilledLines;
+
+  SpillFile(Path directory) throws IOException {
+    Files.createDirectories(directory);
+    file = directory.resolve("spill.jsonl");
+    replayFile = directory.resolve("spill-replay.jsonl");
+    spilledLines = Files.exists(file) ? countLines(file) : 0;
+  }
+
+  synchronized void append(FeaturesUpdate update) throws IOException {
+    if (writer == null) {
+      writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+          StandardOpenOption.APPEND);
+    }
+    writer.write(update.toJson().toString());
+    writer.newLine();
+    writer.flush();
+    spilledLines++;
+  }
+
+  synchronized boolean isEmpty() {
+    return spilledLines == 0 && !Files.exists(replayFile);
+  }
+
+  /**
+   * Hands all spilled updates to the consumer, including those of a replay which was interrupted before, and
+   * deletes them afterwards. Updates spilled meanwhile are kept for the next replay.
+   */
+  void replay(Consumer<FeaturesUpdate> consumer) throws IOException {
+    if (!Files.exists(replayFile)) {
+      synchronized (this) {
+        if (spilledLines == 0) {
+          return;
+        }
+        if (writer != null) {
+          writer.close();
+          writer = null;
+        }
+        Files.move(file, replayFile, StandardCopyOption.ATOMIC_MOVE);
+        spilledLines = 0;
+      }
+    }
+    try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (!line.isEmpty()) {
+          consumer.accept(FeaturesUpdate.fromJson(JsonFactory.newObject(line)));
+        }
+      }
+    }
+    Files.delete(replayFile);
+  }
+
+  synchronized void close() throws IOException {
+    if (writer != null) {
+      writer.close();
+      writer = null;
+    }
+  }
+
+  private static long countLines(Path path) throws IOException {
+    try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      return reader.lines().count();
+    }
+  }
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.ditto.examples.influxdb.service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Append-only buffer on disk for batches of line protocol which could not be written to InfluxDB.
+ * <p>
+ * Batches are appended as length-prefixed records to memory-mapped segment files of
+ * {@code influxdb.wal.segment-bytes}, so buffering them does not grow the heap however long InfluxDB is unavailable.
+ * A replay seals the active segment and hands the records of all sealed segments to a writer, oldest first. A
+ * segment is deleted once all of its records were written; if a write fails, the segment is kept and the next replay
+ * resumes with the failed record. Replaying a record twice, e.g. after a restart, is harmless as all points carry a
+ * timestamp, so InfluxDB overwrites them with the same values.
+ */
+@Component
+public class WriteAheadBuffer {
+
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".wal";
+
+  @Value("${influxdb.wal.directory:wal}")
+  String directory;
+
+  @Value("${influxdb.wal.segment-bytes:67108864}")
+  int segmentBytes;
+
+  private Path segmentDirectory;
+  private long nextSequence;
+  private MappedByteBuffer activeSegment;
+  private Path resumeSegment;
+  private int resumePosition;
+
+  @PostConstruct
+  void open() throws IOException {
+    segmentDirectory = Paths.get(directory);
+    Files.createDirectories(segmentDirectory);
+    List<Path> segments = listSegments();
+    nextSequence = segments.isEmpty() ? 0 : sequenceOf(segments.get(segments.size() - 1)) + 1;
+  }
+
+  /**
+   * Appends a batch of line protocol records.
+   *
+   * @param lines the batch.
+   * @throws IOException if the segment file cannot be created.
+   */
+  public synchronized void append(List<String> lines) throws IOException {
+    byte[] record = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+    int required = Integer.BYTES + record.length + Integer.BYTES;
+    if (activeSegment == null || activeSegment.remaining() < required) {
+      roll(Math.max(segmentBytes, required));
+    }
+    activeSegment.putInt(record.length);
+    activeSegment.put(record);
+  }
+
+  /**
+   * @return whether there are no buffered batches.
+   * @throws IOException if the segment directory cannot be read.
+   */
+  public synchronized boolean isEmpty() throws IOException {
+    if (activeSegment != null && activeSegment.position() > 0) {
+      return false;
+    }
+    List<Path> segments = listSegments();
+    return segments.isEmpty() || segments.size() == 1 && activeSegment != null;
+  }
+
+  /**
+   * Hands all buffered batches to the writer, oldest first, and deletes each segment once all of its batches were
+   * written. Stops at the first batch the writer throws for, with which the next replay resumes. Must not be called
+   * concurrently.
+   *
+   * @param writer writes a batch to InfluxDB, throwing if it is to be retried. A batch which is not to be retried,
+   * e.g. because InfluxDB rejected it, is skipped if the writer returns normally.
+   * @return the number of replayed lines.
+   * @throws IOException if a segment cannot be read or deleted.
+   */
+  public long replay(Consumer<List<String>> writer) throws IOException {
+    List<Path> segments;
+    synchronized (this) {
+      seal();
+      segments = listSegments();
+    }
+    long replayedLines = 0;
+    for (Path segment : segments) {
+      try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        if (segment.equals(resumeSegment)) {
+          buffer.position(resumePosition);
+        }
+        while (buffer.remaining() >= Integer.BYTES) {
+          int position = buffer.position();
+          int length = buffer.getInt();
+          if (length <= 0 || length > buffer.remaining()) {
+            break;
+          }
+          byte[] record = new byte[length];
+          buffer.get(record);
+          List<String> lines = Arrays.asList(new String(record, StandardCharsets.UTF_8).split("\n"));
+          try {
+            writer.accept(lines);
+          } catch (RuntimeException e) {
+            resumeSegment = segment;
+            resumePosition = position;
+            throw e;
+          }
+          replayedLines += lines.size();
+        }
+      }
+      Files.delete(segment);
+      resumeSegment = null;
+    }
+    return replayedLines;
+  }
+
+  private void roll(int size) throws IOException {
+    seal();
+    Path segment = segmentDirectory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, nextSequence++,
+        SEGMENT_SUFFIX));
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      activeSegment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+  }
+
+  private void seal() {
+    if (activeSegment != null) {
+      activeSegment.force();
+      activeSegment = null;
+    }
+  }
+
+  private List<Path> listSegments() throws IOException {
+    List<Path> segments = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(segmentDirectory,
+        SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+      stream.forEach(segments::add);
+    }
+    segments.sort(null);
+    return segments;
+  }
+
+  private static long sequenceOf(Path segment) {
+    String fileName = segment.getFileName().toString();
+    return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+  }
+
+  @PreDestroy
+  synchronized void close() {
+    seal();
+  }
+
+}
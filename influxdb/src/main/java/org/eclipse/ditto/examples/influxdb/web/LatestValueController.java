@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.web;
+
+import org.eclipse.ditto.examples.influxdb.service.LatestValue;
+import org.eclipse.ditto.examples.influxdb.service.LatestValueCache;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObjectBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Serves the latest values of things from the {@link LatestValueCache}, e.g.
+ * {@code GET /latest/org.acme:my-dev/temperature}.
+ */
+@RestController
+@RequestMapping(path = "/latest", produces = MediaType.APPLICATION_JSON_VALUE)
+public class LatestValueController {
+
+  @Autowired
+  LatestValueCache cache;
+
+  @GetMapping("/{thingId}")
+  public ResponseEntity<String> getThing(@PathVariable String thingId) {
+    return cache.get(thingId)
+        .map(features -> {
+          JsonObjectBuilder json = JsonFactory.newObjectBuilder();
+          features.forEach((featureId, latest) -> json.set(featureId, latest.toJson()));
+          return ResponseEntity.ok(json.build().toString());
+        })
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  @GetMapping("/{thingId}/{featureId}")
+  public ResponseEntity<String> getFeature(@PathVariable String thingId, @PathVariable String featureId) {
+    return cache.get(thingId, featureId)
+        .map(LatestValue::toJson)
+        .map(json -> ResponseEntity.ok(json.toString()))
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.junit.Test;
+
+public final class FeaturePropertiesFlattenerTest {
+
+  private static final JsonObject ENGINE = JsonFactory.newObject("{\"value\":3,\"running\":true,\"name\":\"v8\","
+      + "\"diagnostics\":{\"temperature\":90,\"raw\":{\"a\":1}},\"unit\":{\"factor\":2.5}}");
+
+  @Test
+  public void flattensNumericAndBooleanLeavesWithoutPointers() {
+    Map<String, Object> fields = flatten(new String[0], new String[0], "engine", ENGINE);
+
+    assertThat(fields).containsOnly(
+        entry("engine", 3.0),
+        entry("engine.running", true),
+        entry("engine.diagnostics.temperature", 90.0),
+        entry("engine.diagnostics.raw.a", 1.0),
+        entry("engine.unit.factor", 2.5));
+  }
+
+  @Test
+  public void includesOnlySelectedFeaturesAndProperties() {
+    String[] includes = {"/*/value", "/engine/diagnostics"};
+
+    assertThat(flatten(includes, new String[0], "engine", ENGINE)).containsOnly(
+        entry("engine", 3.0),
+        entry("engine.diagnostics.temperature", 90.0),
+        entry("engine.diagnostics.raw.a", 1.0));
+    assertThat(flatten(includes, new String[0], "pump", ENGINE)).containsOnly(entry("pump", 3.0));
+  }
+
+  @Test
+  public void excludeTakesPrecedenceOverInclude() {
+    String[] includes = {"/engine/diagnostics"};
+    String[] excludes = {"/engine/diagnostics/raw"};
+
+    assertThat(flatten(includes, excludes, "engine", ENGINE))
+        .containsOnly(entry("engine.diagnostics.temperature", 90.0));
+  }
+
+  @Test
+  public void wildcardExcludeTakesPrecedenceOverLiteralInclude() {
+    String[] includes = {"/engine/value", "/engine/running"};
+    String[] excludes = {"/*/running"};
+
+    assertThat(flatten(includes, excludes, "engine", ENGINE)).containsOnly(entry("engine", 3.0));
+  }
+
+  @Test
+  public void literalExcludeTakesPrecedenceOverWildcardInclude() {
+    String[] includes = {"/*"};
+    String[] excludes = {"/engine/diagnostics", "/engine/unit/factor"};
+
+    assertThat(flatten(includes, excludes, "engine", ENGINE)).containsOnly(
+        entry("engine", 3.0),
+        entry("engine.running", true));
+    assertThat(flatten(includes, excludes, "pump", ENGINE)).hasSize(5);
+  }
+
+  @Test
+  public void excludedFeatureHasNoFields() {
+    assertThat(flatten(new String[0], new String[] {"/engine"}, "engine", ENGINE)).isEmpty();
+  }
+
+  @Test
+  public void valueIsOnlyNamedByFeatureIdAtTopLevel() {
+    JsonObject properties = JsonFactory.newObject("{\"nested\":{\"value\":1}}");
+
+    assertThat(flatten(new String[0], new String[0], "engine", properties))
+        .containsOnly(entry("engine.nested.value", 1.0));
+  }
+
+  private static Map<String, Object> flatten(String[] includes, String[] excludes, String featureId,
+      JsonObject properties) {
+    FeaturePropertiesFlattener underTest = new FeaturePropertiesFlattener();
+    underTest.includedPointers = includes;
+    underTest.excludedPointers = excludes;
+    underTest.compile();
+    Map<String, Object> fields = new HashMap<>();
+    underTest.flatten(featureId, properties, fields);
+    return fields;
+  }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Test;
+
+public final class FieldAggregatorTest {
+
+  // far longer than a test, so that only the explicit flushes write windows
+  private static final long WINDOW_MS = 3_600_000;
+
+  private final List<Written> written = new ArrayList<>();
+  private final FieldAggregator<String> underTest = new FieldAggregator<>(WINDOW_MS,
+      (series, fields, windowStart) -> written.add(new Written(series, fields, windowStart)));
+
+  @After
+  public void close() throws InterruptedException {
+    underTest.close();
+  }
+
+  @Test
+  public void aggregatesNumericFieldsOfAWindow() {
+    add("dev", 10, at(0));
+    add("dev", 30, at(1_000));
+    add("dev", 20, at(WINDOW_MS - 1));
+
+    underTest.flush(0);
+
+    assertThat(written).hasSize(1);
+    assertThat(written.get(0).windowStart).isEqualTo(at(0));
+    assertThat(written.get(0).fields).containsOnly(entry("temp", 20.0), entry("temp/min", 10.0),
+        entry("temp/max", 30.0), entry("temp/mean", 20.0), entry("temp/count", 3L));
+  }
+
+  @Test
+  public void writesTheWindowWhenASampleOfTheNextWindowArrives() {
+    add("dev", 10, at(WINDOW_MS - 1));
+    add("dev", 20, at(WINDOW_MS));
+
+    assertThat(written).hasSize(1);
+    assertThat(written.get(0).windowStart).isEqualTo(at(0));
+    assertThat(written.get(0).fields).contains(entry("temp/count", 1L), entry("temp", 10.0));
+  }
+
+  @Test
+  public void dropsAndCountsLateSamplesInsteadOfSkewingTheCurrentWindow() {
+    add("dev", 10, at(WINDOW_MS));
+    add("dev", 1_000, at(WINDOW_MS - 1));
+
+    underTest.flush(WINDOW_MS);
+
+    assertThat(underTest.lateSamples()).isEqualTo(1);
+    assertThat(written).hasSize(1);
+    assertThat(written.get(0).windowStart).isEqualTo(at(WINDOW_MS));
+    assertThat(written.get(0).fields).contains(entry("temp/max", 10.0), entry("temp/count", 1L));
+  }
+
+  @Test
+  public void returnsFieldsWhichCannotBeAggregated() {
+    Map<String, Object> notAggregated = underTest.add("dev", Collections.singletonMap("on", true), at(0));
+
+    assertThat(notAggregated).containsOnly(entry("on", true));
+  }
+
+  @Test
+  public void keepsTheWindowsOfSeriesSeparate() {
+    add("a", 1, at(0));
+    add("b", 2, at(0));
+
+    underTest.flush(0);
+
+    assertThat(written).extracting(w -> w.series).containsExactlyInAnyOrder("a", "b");
+  }
+
+  @Test
+  public void doesNotWriteWindowsWhichHaveNotElapsed() {
+    add("dev", 10, at(WINDOW_MS));
+
+    underTest.flush(WINDOW_MS - 1);
+
+    assertThat(written).isEmpty();
+  }
+
+  @Test
+  public void removesWindowsWhichStayedIdleForAWholeWindowAfterBeingWritten() {
+    add("dev", 10, at(0));
+    underTest.flush(0);
+    underTest.flush(WINDOW_MS - 1);
+    assertThat(underTest.windows()).isEqualTo(1);
+
+    underTest.flush(WINDOW_MS);
+
+    assertThat(underTest.windows()).isZero();
+  }
+
+  @Test
+  public void startsANewWindowAfterTheIdleOneWasRemoved() {
+    add("dev", 10, at(0));
+    underTest.flush(WINDOW_MS);
+    written.clear();
+
+    add("dev", 20, at(2 * WINDOW_MS));
+    underTest.flush(2 * WINDOW_MS);
+
+    assertThat(written).hasSize(1);
+    assertThat(written.get(0).fields).contains(entry("temp", 20.0), entry("temp/count", 1L));
+  }
+
+  @Test
+  public void dropsSamplesOfAWindowWhichWasAlreadyWritten() {
+    add("dev", 10, at(0));
+    underTest.flush(0);
+
+    add("dev", 1_000, at(WINDOW_MS - 1));
+    underTest.flush(WINDOW_MS);
+
+    assertThat(written).hasSize(1);
+    assertThat(written.get(0).fields).contains(entry("temp", 10.0), entry("temp/count", 1L));
+    assertThat(underTest.lateSamples()).isEqualTo(1);
+  }
+
+  @Test
+  public void dropsSamplesOfAWrittenWindowAfterTheIdleOneWasRemoved() {
+    add("dev", 10, at(0));
+    underTest.flush(0);
+    underTest.flush(WINDOW_MS);
+    assertThat(underTest.windows()).isZero();
+
+    add("dev", 1_000, at(1));
+    underTest.flush(2 * WINDOW_MS);
+
+    assertThat(written).hasSize(1);
+    assertThat(underTest.lateSamples()).isEqualTo(1);
+  }
+
+  @Test
+  public void namesAggregatesDistinctFromNestedProperties() {
+    Map<String, Object> fields = new HashMap<>();
+    fields.put("temp", 10.0);
+    fields.put("temp.min", 5.0);
+    underTest.add("dev", fields, at(0));
+
+    underTest.flush(0);
+
+    assertThat(written.get(0).fields).contains(entry("temp/min", 10.0), entry("temp.min", 5.0),
+        entry("temp.min/min", 5.0));
+  }
+
+  @Test
+  public void closeWritesOnlyElapsedWindows() throws InterruptedException {
+    add("elapsed", 10, at(0));
+    add("open", 20, Instant.now());
+
+    underTest.close();
+
+    assertThat(written).extracting(w -> w.series).containsExactly("elapsed");
+  }
+
+  private void add(String series, double temperature, Instant timestamp) {
+    underTest.add(series, Collections.singletonMap("temp", temperature), timestamp);
+  }
+
+  private static Instant at(long millis) {
+    return Instant.ofEpochMilli(millis);
+  }
+
+  private static final class Written {
+
+    private final String series;
+    private final Map<String, Object> fields;
+    private final Instant windowStart;
+
+    private Written(String series, Map<String, Object> fields, Instant windowStart) {
+      this.series = series;
+      this.fields = fields;
+      this.windowStart = windowStart;
+    }
+  }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+public final class HyperLogLogTest {
+
+  // three times the standard error of 1.6%
+  private static final double MAX_ERROR = 0.05;
+
+  @Test
+  public void isEmptyInitially() {
+    assertThat(new HyperLogLog().estimate()).isZero();
+  }
+
+  @Test
+  public void countsSmallCardinalitiesAlmostExactly() {
+    HyperLogLog hyperLogLog = new HyperLogLog();
+    for (int i = 0; i < 100; i++) {
+      hyperLogLog.offer("device-" + i);
+    }
+
+    assertThat(hyperLogLog.estimate()).isCloseTo(100, within(2L));
+  }
+
+  @Test
+  public void estimatesLargeCardinalitiesWithinErrorBounds() {
+    for (int cardinality : new int[]{1_000, 10_000, 100_000, 1_000_000}) {
+      HyperLogLog hyperLogLog = new HyperLogLog();
+      for (int i = 0; i < cardinality; i++) {
+        hyperLogLog.offer("org.acme:device-" + i);
+      }
+
+      assertThat((double) hyperLogLog.estimate()).as("estimate of %d values", cardinality)
+          .isCloseTo(cardinality, within(cardinality * MAX_ERROR));
+    }
+  }
+
+  @Test
+  public void estimatesCardinalitiesOfHashCodesWithinErrorBounds() {
+    HyperLogLog hyperLogLog = new HyperLogLog();
+    for (int i = 0; i < 100_000; i++) {
+      hyperLogLog.offerHash(i);
+    }
+
+    assertThat((double) hyperLogLog.estimate()).isCloseTo(100_000, within(100_000 * MAX_ERROR));
+  }
+
+  @Test
+  public void ignoresDuplicates() {
+    HyperLogLog hyperLogLog = new HyperLogLog();
+    for (int i = 0; i < 10_000; i++) {
+      hyperLogLog.offer("value-" + i);
+    }
+    long estimate = hyperLogLog.estimate();
+
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(hyperLogLog.offer("value-" + i)).isFalse();
+    }
+    assertThat(hyperLogLog.estimate()).isEqualTo(estimate);
+  }
+
+  @Test
+  public void concurrentOffersEstimateLikeSequentialOnes() throws Exception {
+    HyperLogLog sequential = new HyperLogLog();
+    for (int i = 0; i < 200_000; i++) {
+      sequential.offer("value-" + i);
+    }
+
+    HyperLogLog concurrent = new HyperLogLog();
+    int threads = 4;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        int offset = t;
+        futures.add(executor.submit(() -> {
+          for (int i = offset; i < 200_000; i += threads) {
+            concurrent.offer("value-" + i);
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(concurrent.estimate()).isEqualTo(sequential.estimate());
+  }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.ditto.json.JsonFactory;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public final class IngestionPipelineTest {
+
+  private static final String SHARD = "org.acme";
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final List<String> saved = new CopyOnWriteArrayList<>();
+  private final CountDownLatch firstSaveStarted = new CountDownLatch(1);
+  private final CountDownLatch firstSaveReleased = new CountDownLatch(1);
+  private IngestionPipeline underTest;
+
+  @After
+  public void stop() throws InterruptedException, IOException {
+    firstSaveReleased.countDown();
+    underTest.stop();
+  }
+
+  @Test
+  public void dropOldestDropsOldestQueuedUpdate() throws Exception {
+    underTest = start(OverflowPolicy.DROP_OLDEST, 2);
+    blockWorker();
+
+    underTest.submit(update("org.acme:b"));
+    underTest.submit(update("org.acme:c"));
+    underTest.submit(update("org.acme:d"));
+
+    assertThat(meterRegistry.get("bridge.pipeline.dropped").tag("shard", SHARD).counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("bridge.pipeline.queue.depth").tag("shard", SHARD).gauge().value()).isEqualTo(2);
+    firstSaveReleased.countDown();
+    underTest.stop();
+    assertThat(saved).containsExactly("org.acme:a", "org.acme:c", "org.acme:d");
+  }
+
+  @Test
+  public void spillSpillsOverflowAndReplaysItOnceQueueDrained() throws Exception {
+    underTest = start(OverflowPolicy.SPILL, 1);
+    blockWorker();
+
+    underTest.submit(update("org.acme:b"));
+    underTest.submit(update("org.acme:c"));
+    underTest.submit(update("org.acme:d"));
+
+    assertThat(meterRegistry.get("bridge.pipeline.spilled").tag("shard", SHARD).counter().count()).isEqualTo(2);
+    firstSaveReleased.countDown();
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+    while (saved.size() < 4 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(50);
+    }
+    assertThat(saved).containsExactly("org.acme:a", "org.acme:b", "org.acme:c", "org.acme:d");
+    assertThat(meterRegistry.get("bridge.pipeline.dropped").tag("shard", SHARD).counter().count()).isZero();
+  }
+
+  @Test
+  public void spillSpillsUnprocessedUpdatesOnStop() throws Exception {
+    underTest = start(OverflowPolicy.SPILL, 1);
+    underTest.shutdownTimeoutMs = 100;
+    blockWorker();
+
+    underTest.submit(update("org.acme:b"));
+    underTest.stop();
+
+    assertThat(meterRegistry.get("bridge.pipeline.spilled").tag("shard", SHARD).counter().count()).isEqualTo(1);
+    assertThat(new SpillFile(folder.getRoot().toPath().resolve(SHARD)).isEmpty()).isFalse();
+  }
+
+  private IngestionPipeline start(OverflowPolicy overflowPolicy, int queueCapacity) throws IOException {
+    IngestionPipeline pipeline = new IngestionPipeline(SHARD);
+    pipeline.influxDbService = new InfluxDBService() {
+      @Override
+      public void save(FeaturesUpdate update) {
+        saved.add(update.getThingId());
+        if (firstSaveStarted.getCount() > 0) {
+          firstSaveStarted.countDown();
+          try {
+            firstSaveReleased.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      }
+    };
+    pipeline.meterRegistry = meterRegistry;
+    pipeline.blockingThreads = new BlockingThreads();
+    pipeline.queueCapacity = queueCapacity;
+    pipeline.workers = 1;
+    pipeline.overflowPolicy = overflowPolicy;
+    pipeline.spillDirectory = folder.getRoot().getPath();
+    pipeline.shutdownTimeoutMs = 10_000;
+    pipeline.start();
+    return pipeline;
+  }
+
+  /**
+   * Lets the single worker take the first update and block on it, so that the following updates stay queued.
+   */
+  private void blockWorker() throws InterruptedException {
+    underTest.submit(update("org.acme:a"));
+    assertThat(firstSaveStarted.await(10, TimeUnit.SECONDS)).isTrue();
+  }
+
+  private static FeaturesUpdate update(String thingId) {
+    return new FeaturesUpdate(thingId, JsonFactory.newObject(), 1, null);
+  }
+
+}
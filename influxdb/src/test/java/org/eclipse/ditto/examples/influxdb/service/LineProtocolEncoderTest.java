@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public final class LineProtocolEncoderTest {
+
+  private static final Instant TIMESTAMP = Instant.ofEpochMilli(1_600_000_000_000L);
+
+  private final LineProtocolEncoder encoder = new LineProtocolEncoder();
+
+  @Test
+  public void encodesTypedFieldsWithMillisecondTimestamp() {
+    Map<String, Object> fields = new LinkedHashMap<>();
+    fields.put("temperature", 21.5);
+    fields.put("count", 3);
+    fields.put("on", true);
+
+    String line = encoder.encode(new Series("weather", Collections.singletonMap("deviceId", "org.acme:my-dev")),
+        fields, TIMESTAMP);
+
+    assertThat(line).isEqualTo("weather,deviceId=org.acme:my-dev temperature=21.5,count=3i,on=true 1600000000000");
+  }
+
+  @Test
+  public void escapesCommasSpacesAndEqualSigns() {
+    String line = encoder.encode(new Series("my weather,2", Collections.singletonMap("site id", "a=b,c")),
+        Collections.singletonMap("x=y", 1), TIMESTAMP);
+
+    assertThat(line).isEqualTo("my\\ weather\\,2,site\\ id=a\\=b\\,c x\\=y=1i 1600000000000");
+  }
+
+  @Test
+  public void escapesBackslashesSoThatTheyDoNotEscapeTheSeparators() {
+    String line = encoder.encode(new Series("weather\\", Collections.singletonMap("site", "hall\\")),
+        Collections.singletonMap("temp\\", 1), TIMESTAMP);
+
+    assertThat(line).isEqualTo("weather\\\\,site=hall\\\\ temp\\\\=1i 1600000000000");
+  }
+
+  @Test
+  public void replacesLineBreaksWhichWouldSplitThePoint() {
+    String line = encoder.encode(new Series("weather\n", Collections.singletonMap("site", "hall\r\n1")),
+        Collections.singletonMap("temp\nerature", 1), TIMESTAMP);
+
+    assertThat(line).doesNotContain("\n").doesNotContain("\r")
+        .isEqualTo("weather\\ ,site=hall\\ \\ 1 temp\\ erature=1i 1600000000000");
+  }
+
+  @Test
+  public void omitsFieldsWhichCannotBeWritten() {
+    Map<String, Object> fields = new LinkedHashMap<>();
+    fields.put("nan", Double.NaN);
+    fields.put("text", "abc");
+    fields.put("value", 1.0);
+
+    String line = encoder.encode(new Series("weather", Collections.emptyMap()), fields, TIMESTAMP);
+
+    assertThat(line).isEqualTo("weather value=1.0 1600000000000");
+  }
+
+  @Test
+  public void returnsNullIfNoFieldCanBeWritten() {
+    assertThat(encoder.encode(new Series("weather", Collections.emptyMap()),
+        Collections.singletonMap("nan", Double.NaN), TIMESTAMP)).isNull();
+  }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.ditto.json.JsonFactory;
+import org.junit.Before;
+import org.junit.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public final class RevisionTrackerTest {
+
+  private static final int LAST_SLOT = RevisionTracker.INITIAL_CAPACITY - 1;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final RevisionTracker underTest = new RevisionTracker();
+
+  @Before
+  public void start() {
+    underTest.meterRegistry = meterRegistry;
+    underTest.start();
+  }
+
+  @Test
+  public void acceptsOnlyNewerRevisions() {
+    assertThat(underTest.advance(update("org.acme:a", 2))).isTrue();
+    assertThat(underTest.advance(update("org.acme:a", 2))).isFalse();
+    assertThat(underTest.advance(update("org.acme:a", 1))).isFalse();
+    assertThat(underTest.advance(update("org.acme:a", 3))).isTrue();
+    assertThat(underTest.advance(update("org.acme:b", 1))).isTrue();
+
+    assertThat(underTest.size()).isEqualTo(2);
+    assertThat(meterRegistry.get("bridge.changes.duplicate").counter().count()).isEqualTo(2);
+  }
+
+  @Test
+  public void alwaysAcceptsUpdatesWithoutRevision() {
+    assertThat(underTest.advance(update("org.acme:a", 0))).isTrue();
+    assertThat(underTest.advance(update("org.acme:a", 0))).isTrue();
+
+    assertThat(underTest.size()).isZero();
+  }
+
+  @Test
+  public void forgottenThingStartsOver() {
+    underTest.advance(update("org.acme:a", 5));
+
+    underTest.forget("org.acme:a");
+    underTest.forget("org.acme:unknown");
+
+    assertThat(underTest.size()).isZero();
+    assertThat(underTest.advance(update("org.acme:a", 1))).isTrue();
+  }
+
+  @Test
+  public void forgetKeepsWrappedClusterReachable() {
+    // three things competing for the last slot wrap around to the first slots, where a fourth thing belongs
+    List<String> lastSlot = thingIdsInSlot(LAST_SLOT, 3);
+    String firstSlot = thingIdsInSlot(0, 1).get(0);
+    for (String thingId : lastSlot) {
+      underTest.advance(update(thingId, 1));
+    }
+    underTest.advance(update(firstSlot, 1));
+
+    underTest.forget(lastSlot.get(0));
+
+    assertThat(underTest.size()).isEqualTo(3);
+    assertThat(underTest.advance(update(lastSlot.get(1), 1))).isFalse();
+    assertThat(underTest.advance(update(lastSlot.get(2), 1))).isFalse();
+    assertThat(underTest.advance(update(firstSlot, 1))).isFalse();
+
+    underTest.forget(lastSlot.get(1));
+
+    assertThat(underTest.size()).isEqualTo(2);
+    assertThat(underTest.advance(update(lastSlot.get(2), 1))).isFalse();
+    assertThat(underTest.advance(update(firstSlot, 1))).isFalse();
+    assertThat(underTest.advance(update(lastSlot.get(0), 1))).isTrue();
+  }
+
+  @Test
+  public void keepsRevisionsWhenGrowing() {
+    int things = RevisionTracker.INITIAL_CAPACITY * 4;
+    for (int i = 0; i < things; i++) {
+      underTest.advance(update("org.acme:dev-" + i, i + 1));
+    }
+
+    assertThat(underTest.size()).isEqualTo(things);
+    for (int i = 0; i < things; i++) {
+      assertThat(underTest.advance(update("org.acme:dev-" + i, i + 1))).isFalse();
+    }
+  }
+
+  private static List<String> thingIdsInSlot(int slot, int count) {
+    List<String> thingIds = new ArrayList<>(count);
+    for (int i = 0; thingIds.size() < count; i++) {
+      String thingId = "org.acme:dev-" + i;
+      if (RevisionTracker.slot(thingId, LAST_SLOT) == slot) {
+        thingIds.add(thingId);
+      }
+    }
+    return thingIds;
+  }
+
+  private static FeaturesUpdate update(String thingId, long revision) {
+    return new FeaturesUpdate(thingId, JsonFactory.newObject(), revision, null);
+  }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.influxdb.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public final class WriteAheadBufferTest {
+
+  private static final List<String> FIRST = Arrays.asList("weather a=1 1", "weather a=2 2");
+  private static final List<String> SECOND = Collections.singletonList("weather a=3 3");
+  private static final List<String> THIRD = Collections.singletonList("weather a=4 4");
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final List<List<String>> replayed = new ArrayList<>();
+  private WriteAheadBuffer underTest;
+
+  @After
+  public void close() {
+    underTest.close();
+  }
+
+  @Test
+  public void replaysBatchesInOrderAndDeletesThem() throws IOException {
+    underTest = open(1024);
+    underTest.append(FIRST);
+    underTest.append(SECOND);
+
+    assertThat(underTest.isEmpty()).isFalse();
+    assertThat(underTest.replay(replayed::add)).isEqualTo(3);
+    assertThat(replayed).containsExactly(FIRST, SECOND);
+    assertThat(underTest.isEmpty()).isTrue();
+    assertThat(segments()).isEmpty();
+  }
+
+  @Test
+  public void replaysAcrossSegments() throws IOException {
+    underTest = open(32);
+    underTest.append(FIRST);
+    underTest.append(SECOND);
+    underTest.append(THIRD);
+
+    assertThat(segments()).hasSize(3);
+    underTest.replay(replayed::add);
+
+    assertThat(replayed).containsExactly(FIRST, SECOND, THIRD);
+    assertThat(segments()).isEmpty();
+  }
+
+  @Test
+  public void replaysBatchesOfPreviousRun() throws IOException {
+    underTest = open(1024);
+    underTest.append(FIRST);
+    underTest.close();
+
+    underTest = open(1024);
+    underTest.append(SECOND);
+    underTest.replay(replayed::add);
+
+    assertThat(replayed).containsExactly(FIRST, SECOND);
+  }
+
+  @Test
+  public void ignoresTruncatedTrailingRecord() throws IOException {
+    underTest = open(1024);
+    underTest.append(FIRST);
+    underTest.append(SECOND);
+    underTest.close();
+    int firstRecordBytes = Integer.BYTES + String.join("\n", FIRST).getBytes(StandardCharsets.UTF_8).length;
+    try (FileChannel channel = FileChannel.open(segments()[0].toPath(), StandardOpenOption.WRITE)) {
+      channel.truncate(firstRecordBytes + Integer.BYTES + 2);
+    }
+
+    underTest = open(1024);
+
+    assertThat(underTest.replay(replayed::add)).isEqualTo(2);
+    assertThat(replayed).containsExactly(FIRST);
+    assertThat(underTest.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void resumesWithFailedBatch() throws IOException {
+    underTest = open(1024);
+    underTest.append(FIRST);
+    underTest.append(SECOND);
+    underTest.append(THIRD);
+
+    assertThatThrownBy(() -> underTest.replay(lines -> {
+      replayed.add(lines);
+      if (lines.equals(SECOND)) {
+        throw new IllegalStateException("InfluxDB unavailable");
+      }
+    })).isInstanceOf(IllegalStateException.class);
+    underTest.replay(replayed::add);
+
+    assertThat(replayed).containsExactly(FIRST, SECOND, SECOND, THIRD);
+    assertThat(underTest.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void skipsBatchWhichWriterReturnsFor() throws IOException {
+    underTest = open(1024);
+    underTest.append(FIRST);
+    underTest.append(SECOND);
+
+    // a writer dropping a rejected batch returns normally
+    underTest.replay(lines -> {
+      if (!lines.equals(FIRST)) {
+        replayed.add(lines);
+      }
+    });
+
+    assertThat(replayed).containsExactly(SECOND);
+    assertThat(underTest.isEmpty()).isTrue();
+    assertThat(underTest.replay(replayed::add)).isZero();
+  }
+
+  private WriteAheadBuffer open(int segmentBytes) throws IOException {
+    WriteAheadBuffer buffer = new WriteAheadBuffer();
+    buffer.directory = folder.getRoot().getPath();
+    buffer.segmentBytes = segmentBytes;
+    buffer.open();
+    return buffer;
+  }
+
+  private File[] segments() {
+    File[] segments = folder.getRoot().listFiles((directory, name) -> name.endsWith(".wal"));
+    Arrays.sort(segments);
+    return segments;
+  }
+
+}
@@ -14,8 +14,19 @@ package org.eclipse.ditto.mappingfunction.testcase;
 
 
 import org.eclipse.ditto.connectivity.service.config.mapping.MappingConfig;
+import org.eclipse.ditto.connectivity.service.mapping.MessageMapper;
 import org.eclipse.ditto.connectivity.service.mapping.javascript.JavaScriptMessageMapperConfiguration;
-
+import org.eclipse.ditto.connectivity.service.mapping.javascript.JavaScriptMessageMapperFactory;
+
+/**
+ * Base class of all payload mapping test cases.
+ * <p>
+ * A test case itself is immutable. Each call of
+ * {@link #run(MappingConfig, JavaScriptMessageMapperConfiguration, MappingStatisticsRecorder)} creates its own
+ * {@link MessageMapper} which never leaves the calling thread, so test cases may be run from tests executing in
+ * parallel.
+ * </p>
+ */
 abstract class AbstractPayloadMappingTestCase {
 
     private final PayloadMappingFunction mappingFunction;
@@ -28,6 +39,21 @@ abstract class AbstractPayloadMappingTestCase {
         return mappingFunction;
     }
 
-    abstract void run(final MappingConfig config, final JavaScriptMessageMapperConfiguration mappingConfig);
+    /**
+     * Creates and configures a new JavaScript {@link MessageMapper} for exclusive use by the calling thread.
+     *
+     * @param config the akka config to configure the message mapper.
+     * @param mappingConfig the config to configure the message mapper.
+     * @return the configured message mapper.
+     */
+    static MessageMapper newConfiguredMessageMapper(final MappingConfig config,
+            final JavaScriptMessageMapperConfiguration mappingConfig) {
+        final MessageMapper messageMapper = JavaScriptMessageMapperFactory.createJavaScriptMessageMapperRhino();
+        messageMapper.configure(config, mappingConfig);
+        return messageMapper;
+    }
+
+    abstract void run(final MappingConfig config, final JavaScriptMessageMapperConfiguration mappingConfig,
+            final MappingStatisticsRecorder statisticsRecorder);
 
 }
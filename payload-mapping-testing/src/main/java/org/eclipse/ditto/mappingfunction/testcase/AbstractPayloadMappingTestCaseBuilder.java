@@ -11,6 +11,7 @@
 package org.eclipse.ditto.mappingfunction.testcase;
 
 import java.util.Collections;
+import java.util.function.Consumer;
 
 import org.eclipse.ditto.connectivity.service.config.mapping.DefaultMappingConfig;
 import org.eclipse.ditto.connectivity.service.mapping.javascript.JavaScriptMessageMapperConfiguration;
@@ -24,6 +25,11 @@ interface AbstractPayloadMappingTestCaseBuilder {
     /**
      * Responsible to allow optional configuration of the
      * {@code MessageMapper} and run the {@link #mappingFunctionTestCase}.
+     * <p>
+     * A ConfigStep is not thread-safe and is meant to be built and verified by a single test. Each call of
+     * {@link #verify()} uses a new {@code MessageMapper} confined to the calling thread, so independent test cases
+     * may be verified concurrently.
+     * </p>
      */
     final class ConfigStep {
 
@@ -34,10 +40,18 @@ interface AbstractPayloadMappingTestCaseBuilder {
                 "        allowUnsafeStandardObjects = true\n" +
                 "        }";
 
+        private static final int DEFAULT_STATISTICS_WINDOW_SIZE = 1000;
+
         private final JavaScriptMessageMapperConfiguration.Builder messageMapperConfigBuilder;
         private final AbstractPayloadMappingTestCase mappingFunctionTestCase;
 
         private String mappingConfig;
+        private int statisticsWindowSize = DEFAULT_STATISTICS_WINDOW_SIZE;
+        private Consumer<MappingStatistics> statisticsConsumer = statistics -> {};
+        private long allocationBudgetBytes = MappingStatisticsRecorder.UNLIMITED_ALLOCATION;
+        private int repetitions = 1;
+        private PerformanceBaseline performanceBaseline;
+        private String baselineTestName;
 
         ConfigStep(final IncomingPayloadMappingTestCase mappingFunctionTestCase) {
             this.mappingFunctionTestCase = mappingFunctionTestCase;
@@ -46,6 +60,13 @@ interface AbstractPayloadMappingTestCaseBuilder {
             messageMapperConfigBuilder.incomingScript(mappingFunctionTestCase.getMappingFunction().asString());
         }
 
+        ConfigStep(final FuzzingPayloadMappingTestCase mappingFunctionTestCase) {
+            this.mappingFunctionTestCase = mappingFunctionTestCase;
+            this.messageMapperConfigBuilder = JavaScriptMessageMapperFactory
+                    .createJavaScriptMessageMapperConfigurationBuilder("js-test", Collections.emptyMap());
+            messageMapperConfigBuilder.incomingScript(mappingFunctionTestCase.getMappingFunction().asString());
+        }
+
         ConfigStep(final OutgoingPayloadMappingTestCase mappingFunctionTestCase) {
             this.mappingFunctionTestCase = mappingFunctionTestCase;
             this.messageMapperConfigBuilder = JavaScriptMessageMapperFactory
@@ -53,6 +74,13 @@ interface AbstractPayloadMappingTestCaseBuilder {
             messageMapperConfigBuilder.outgoingScript(mappingFunctionTestCase.getMappingFunction().asString());
         }
 
+        ConfigStep(final OutgoingBatchPayloadMappingTestCase mappingFunctionTestCase) {
+            this.mappingFunctionTestCase = mappingFunctionTestCase;
+            this.messageMapperConfigBuilder = JavaScriptMessageMapperFactory
+                    .createJavaScriptMessageMapperConfigurationBuilder("js-test", Collections.emptyMap());
+            messageMapperConfigBuilder.outgoingScript(mappingFunctionTestCase.getMappingFunction().asString());
+        }
+
         /**
          * Allows to provide config for the {@code MessageMapper}.
          *
@@ -84,6 +112,79 @@ interface AbstractPayloadMappingTestCaseBuilder {
             return this;
         }
 
+        /**
+         * Reports the latency and throughput of the mapping calls to the given consumer. Statistics are reported for
+         * each window of consecutively mapped messages and once in total after all messages were mapped.
+         *
+         * @param statisticsConsumer the consumer of the statistics, e.g. {@code System.out::println}.
+         * @return this builder.
+         */
+        public ConfigStep reportStatisticsTo(final Consumer<MappingStatistics> statisticsConsumer) {
+            this.statisticsConsumer = statisticsConsumer;
+            return this;
+        }
+
+        /**
+         * Sets the number of consecutively mapped messages statistics are reported for. Defaults to 1000.
+         *
+         * @param windowSize the number of messages per window.
+         * @return this builder.
+         */
+        public ConfigStep withStatisticsWindow(final int windowSize) {
+            this.statisticsWindowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * Fails the test case if a single call of the message mapper allocates more than the given number of bytes.
+         * The allocated bytes are measured with {@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes}
+         * around each mapping call; the JVM running the test must support this.
+         *
+         * @param bytesPerMapping the maximum number of bytes a single mapping call may allocate.
+         * @return this builder.
+         */
+        public ConfigStep withAllocationBudget(final long bytesPerMapping) {
+            if (bytesPerMapping < 0) {
+                throw new IllegalArgumentException("The allocation budget must not be negative: " + bytesPerMapping);
+            }
+            this.allocationBudgetBytes = bytesPerMapping;
+            return this;
+        }
+
+        /**
+         * Runs the test case the given number of times, e.g. to get meaningful throughput statistics for a single
+         * message. Each repetition configures a new {@code MessageMapper}; configuring it is not part of the
+         * measured latency. Test cases mapping a stream of messages can only be run once.
+         *
+         * @param repetitions how often to run the test case.
+         * @return this builder.
+         */
+        public ConfigStep withRepetitions(final int repetitions) {
+            if (repetitions < 1) {
+                throw new IllegalArgumentException("The number of repetitions must be positive: " + repetitions);
+            }
+            if (repetitions > 1 && mappingFunctionTestCase instanceof OutgoingBatchPayloadMappingTestCase) {
+                throw new IllegalStateException("A test case mapping a stream of messages can only be run once.");
+            }
+            this.repetitions = repetitions;
+            return this;
+        }
+
+        /**
+         * Compares the throughput of the mapping calls with the baseline recorded for the given test name and fails
+         * the test case if it dropped by more than the tolerance of the baseline. Wall-clock measurements are not
+         * deterministic, so the comparison only takes place if it is enabled, see {@link PerformanceBaseline}.
+         *
+         * @param baseline the baseline file to compare with.
+         * @param testName the name of the test case within the baseline file.
+         * @return this builder.
+         */
+        public ConfigStep comparedToBaseline(final PerformanceBaseline baseline, final String testName) {
+            this.performanceBaseline = baseline;
+            this.baselineTestName = testName;
+            return this;
+        }
+
         /**
          * Runs the test case and verifies that the outcome equals the expected outcome.
          */
@@ -95,8 +196,17 @@ interface AbstractPayloadMappingTestCaseBuilder {
                 akkaMappingConfig = ConfigFactory.parseString(mappingConfig);
             }
 
-            mappingFunctionTestCase.run(DefaultMappingConfig.of(akkaMappingConfig),
-                    messageMapperConfigBuilder.build());
+            final MappingStatisticsRecorder statisticsRecorder =
+                    new MappingStatisticsRecorder(statisticsWindowSize, statisticsConsumer, allocationBudgetBytes);
+            final JavaScriptMessageMapperConfiguration messageMapperConfig = messageMapperConfigBuilder.build();
+            for (int i = 0; i < repetitions; i++) {
+                mappingFunctionTestCase.run(DefaultMappingConfig.of(akkaMappingConfig), messageMapperConfig,
+                        statisticsRecorder);
+            }
+            final MappingStatistics totalStatistics = statisticsRecorder.finish();
+            if (performanceBaseline != null) {
+                performanceBaseline.verify(baselineTestName, totalStatistics);
+            }
         }
     }
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.mappingfunction.testcase;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.eclipse.ditto.connectivity.api.ExternalMessage;
+import org.eclipse.ditto.connectivity.api.ExternalMessageFactory;
+import org.eclipse.ditto.connectivity.service.config.mapping.MappingConfig;
+import org.eclipse.ditto.connectivity.service.mapping.MessageMapper;
+import org.eclipse.ditto.connectivity.service.mapping.javascript.JavaScriptMessageMapperConfiguration;
+
+/**
+ * Test case for an incoming payload mapping function which is fed with generated byte payloads in order to find
+ * inputs which make the mapping function throw, exceed its maximum script execution time or run slowly.
+ * <p>
+ * Payload sizes alternate between a linear ramp from the minimum to the maximum size and random sizes in between,
+ * the payload content is random. Generation is seeded, so a failing run can be reproduced.
+ * </p>
+ */
+final class FuzzingPayloadMappingTestCase extends AbstractPayloadMappingTestCase {
+
+    private static final int REPORTED_FAILURES = 10;
+
+    private final Map<String, String> headers;
+    private final int minPayloadSize;
+    private final int maxPayloadSize;
+    private final int iterations;
+    private final long seed;
+    private final int reportedSlowestInputs;
+    private final Consumer<String> reportConsumer;
+    private final Duration latencyLimit;
+
+    FuzzingPayloadMappingTestCase(final PayloadMappingFunction mappingFunction, final Map<String, String> headers,
+            final int minPayloadSize, final int maxPayloadSize, final int iterations, final long seed,
+            final int reportedSlowestInputs, final Consumer<String> reportConsumer, final Duration latencyLimit) {
+        super(mappingFunction);
+        this.headers = headers;
+        this.minPayloadSize = minPayloadSize;
+        this.maxPayloadSize = maxPayloadSize;
+        this.iterations = iterations;
+        this.seed = seed;
+        this.reportedSlowestInputs = reportedSlowestInputs;
+        this.reportConsumer = reportConsumer;
+        this.latencyLimit = latencyLimit;
+    }
+
+    /**
+     * Uses a {@link MessageMapper} holding an incoming mapping function to map {@link #iterations} generated byte
+     * payloads, reports the slowest of them and fails if any of the mapping calls threw or took longer than the
+     * {@link #latencyLimit}.
+     *
+     * @param config the akka config to configure the {@link MessageMapper}.
+     * @param mappingConfig the config to configure the {@link MessageMapper}.
+     * @param statisticsRecorder the recorder measuring each mapping call.
+     */
+    @Override
+    void run(final MappingConfig config, final JavaScriptMessageMapperConfiguration mappingConfig,
+            final MappingStatisticsRecorder statisticsRecorder) {
+        final MessageMapper messageMapper = newConfiguredMessageMapper(config, mappingConfig);
+        final Random random = new Random(seed);
+        final PriorityQueue<Finding> slowestInputs =
+                new PriorityQueue<>(Comparator.comparingLong((Finding finding) -> finding.latencyNanos));
+        final List<Finding> failures = new ArrayList<>();
+        int failureCount = 0;
+
+        for (int i = 0; i < iterations; i++) {
+            final byte[] payload = new byte[payloadSize(i, random)];
+            random.nextBytes(payload);
+            final ExternalMessage message = ExternalMessageFactory.newExternalMessageBuilder(headers)
+                    .withBytes(payload)
+                    .build();
+
+            final long start = System.nanoTime();
+            String failure = null;
+            try {
+                statisticsRecorder.measure(() -> messageMapper.map(message));
+            } catch (final RuntimeException e) {
+                failure = e.toString();
+            }
+            final long latencyNanos = System.nanoTime() - start;
+
+            if (failure != null) {
+                failureCount++;
+                if (failures.size() < REPORTED_FAILURES) {
+                    failures.add(new Finding(i, payload, latencyNanos, failure));
+                }
+            }
+            if (slowestInputs.size() < reportedSlowestInputs) {
+                slowestInputs.add(new Finding(i, payload, latencyNanos, failure));
+            } else if (reportedSlowestInputs > 0 && slowestInputs.peek().latencyNanos < latencyNanos) {
+                slowestInputs.poll();
+                slowestInputs.add(new Finding(i, payload, latencyNanos, failure));
+            }
+        }
+
+        final List<Finding> slowestFirst = new ArrayList<>(slowestInputs);
+        slowestFirst.sort(Comparator.comparingLong((Finding finding) -> finding.latencyNanos).reversed());
+        final String slowestReport = describe(String.format("Slowest of %d fuzzed payloads (seed %d):",
+                iterations, seed), slowestFirst);
+        reportConsumer.accept(slowestReport);
+
+        if (failureCount > 0) {
+            throw new AssertionError(String.format("Mapping failed for %d of %d fuzzed payloads (seed %d). %s%n%s",
+                    failureCount, iterations, seed, describe("First failures:", failures), slowestReport));
+        }
+        if (latencyLimit != null && !slowestFirst.isEmpty() &&
+                slowestFirst.get(0).latencyNanos > latencyLimit.toNanos()) {
+            throw new AssertionError(String.format("Mapping of fuzzed payloads took longer than %d ms (seed %d). %s",
+                    latencyLimit.toMillis(), seed, slowestReport));
+        }
+    }
+
+    private int payloadSize(final int iteration, final Random random) {
+        final int range = maxPayloadSize - minPayloadSize;
+        if (iteration % 2 == 0) {
+            final int rampSteps = Math.max(1, (iterations - 1) / 2);
+            return minPayloadSize + (int) ((long) range * Math.min(iteration / 2, rampSteps) / rampSteps);
+        }
+        return minPayloadSize + random.nextInt(range + 1);
+    }
+
+    private static String describe(final String title, final List<Finding> findings) {
+        final StringBuilder description = new StringBuilder(title);
+        for (final Finding finding : findings) {
+            description.append(System.lineSeparator()).append("  ").append(finding);
+        }
+        return description.toString();
+    }
+
+    private static final class Finding {
+
+        private static final int MAX_HEX_BYTES = 64;
+
+        private final int iteration;
+        private final byte[] payload;
+        private final long latencyNanos;
+        private final String failure;
+
+        private Finding(final int iteration, final byte[] payload, final long latencyNanos, final String failure) {
+            this.iteration = iteration;
+            this.payload = payload;
+            this.latencyNanos = latencyNanos;
+            this.failure = failure;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < Math.min(payload.length, MAX_HEX_BYTES); i++) {
+                hex.append(String.format("%02X", payload[i]));
+            }
+            if (payload.length > MAX_HEX_BYTES) {
+                hex.append("...");
+            }
+            return String.format("#%d: %d us, %d bytes [%s]%s", iteration, latencyNanos / 1_000, payload.length,
+                    hex, failure == null ? "" : " failed: " + failure);
+        }
+    }
+}
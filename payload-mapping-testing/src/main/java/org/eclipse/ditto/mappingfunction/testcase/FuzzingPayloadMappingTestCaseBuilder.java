@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.mappingfunction.testcase;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Consumer;
+
+interface FuzzingPayloadMappingTestCaseBuilder extends AbstractPayloadMappingTestCaseBuilder {
+
+    /**
+     * Responsible for providing methods to configure the generated byte payloads and to set the incoming payload
+     * mapping function under test.
+     */
+    final class FuzzedPayloadsStep {
+
+        private final Map<String, String> headers;
+
+        private int minPayloadSize = 0;
+        private int maxPayloadSize = 1024;
+        private int iterations = 1000;
+        private long seed = System.nanoTime();
+        private int reportedSlowestInputs = 10;
+        private Consumer<String> reportConsumer = report -> {};
+
+        FuzzedPayloadsStep(final Map<String, String> headers) {
+            this.headers = headers;
+        }
+
+        /**
+         * Sets the range of sizes of the generated payloads. Defaults to 0 to 1024 bytes.
+         *
+         * @param minPayloadSize the minimum payload size in bytes.
+         * @param maxPayloadSize the maximum payload size in bytes.
+         * @return this builder.
+         */
+        public FuzzedPayloadsStep withPayloadSizesBetween(final int minPayloadSize, final int maxPayloadSize) {
+            if (minPayloadSize < 0 || maxPayloadSize < minPayloadSize) {
+                throw new IllegalArgumentException(String.format("Invalid payload size range: [%d, %d]",
+                        minPayloadSize, maxPayloadSize));
+            }
+            this.minPayloadSize = minPayloadSize;
+            this.maxPayloadSize = maxPayloadSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of generated payloads. Defaults to 1000.
+         *
+         * @param iterations the number of payloads.
+         * @return this builder.
+         */
+        public FuzzedPayloadsStep withIterations(final int iterations) {
+            if (iterations < 1) {
+                throw new IllegalArgumentException("The number of iterations must be positive: " + iterations);
+            }
+            this.iterations = iterations;
+            return this;
+        }
+
+        /**
+         * Sets the seed of the payload generator in order to reproduce a previous run. The seed of each run is part
+         * of its report.
+         *
+         * @param seed the seed.
+         * @return this builder.
+         */
+        public FuzzedPayloadsStep withSeed(final long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Reports the slowest payloads found by the run to the given consumer.
+         *
+         * @param numberOfInputs how many of the slowest payloads to report. Defaults to 10.
+         * @param reportConsumer the consumer of the report, e.g. {@code System.out::println}.
+         * @return this builder.
+         */
+        public FuzzedPayloadsStep reportSlowestInputsTo(final int numberOfInputs,
+                final Consumer<String> reportConsumer) {
+            if (numberOfInputs < 0) {
+                throw new IllegalArgumentException("The number of inputs must not be negative: " + numberOfInputs);
+            }
+            this.reportedSlowestInputs = numberOfInputs;
+            this.reportConsumer = reportConsumer;
+            return this;
+        }
+
+        /**
+         * Sets the incoming payload mapping function under test.
+         *
+         * @param mappingFunction the incoming payload mapping function.
+         * @return the next step of the builder.
+         */
+        public ExpectedRobustnessStep mappedByJavascriptPayloadMappingFunction(
+                final PayloadMappingFunction mappingFunction) {
+            return new ExpectedRobustnessStep(mappingFunction, this);
+        }
+    }
+
+    /**
+     * Responsible for providing methods to set what the mapping of each generated payload must not do.
+     */
+    final class ExpectedRobustnessStep {
+
+        private final PayloadMappingFunction mappingFunction;
+        private final FuzzedPayloadsStep payloads;
+
+        ExpectedRobustnessStep(final PayloadMappingFunction mappingFunction, final FuzzedPayloadsStep payloads) {
+            this.mappingFunction = mappingFunction;
+            this.payloads = payloads;
+        }
+
+        /**
+         * Expects the mapping function to neither throw nor exceed the maximum script execution time for any of the
+         * generated payloads. Dropping a payload is fine.
+         *
+         * @return the next step of the builder.
+         */
+        public ConfigStep neverFails() {
+            return newConfigStep(null);
+        }
+
+        /**
+         * Expects the mapping function to neither throw nor take longer than the given latency for any of the
+         * generated payloads.
+         *
+         * @param latencyLimit the maximum latency of a single mapping call.
+         * @return the next step of the builder.
+         */
+        public ConfigStep neverFailsOrTakesLongerThan(final Duration latencyLimit) {
+            return newConfigStep(latencyLimit);
+        }
+
+        private ConfigStep newConfigStep(final Duration latencyLimit) {
+            final FuzzingPayloadMappingTestCase fuzzingMappingFunctionTestCase =
+                    new FuzzingPayloadMappingTestCase(mappingFunction, payloads.headers, payloads.minPayloadSize,
+                            payloads.maxPayloadSize, payloads.iterations, payloads.seed,
+                            payloads.reportedSlowestInputs, payloads.reportConsumer, latencyLimit);
+            return new ConfigStep(fuzzingMappingFunctionTestCase);
+        }
+    }
+}
@@ -15,15 +15,13 @@ package org.eclipse.ditto.mappingfunction.testcase;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-import java.util.Optional;
+import java.util.List;
 
-import org.eclipse.ditto.protocoladapter.Adaptable;
-import org.eclipse.ditto.services.connectivity.mapping.MessageMapper;
-import org.eclipse.ditto.services.connectivity.mapping.MessageMappers;
-import org.eclipse.ditto.services.connectivity.mapping.javascript.JavaScriptMessageMapperConfiguration;
-import org.eclipse.ditto.services.models.connectivity.ExternalMessage;
-
-import com.typesafe.config.Config;
+import org.eclipse.ditto.connectivity.api.ExternalMessage;
+import org.eclipse.ditto.connectivity.service.config.mapping.MappingConfig;
+import org.eclipse.ditto.connectivity.service.mapping.MessageMapper;
+import org.eclipse.ditto.connectivity.service.mapping.javascript.JavaScriptMessageMapperConfiguration;
+import org.eclipse.ditto.protocol.Adaptable;
 
 /**
  * Test case for an incoming payload mapping function.
@@ -32,27 +30,28 @@ final class IncomingPayloadMappingTestCase extends AbstractPayloadMappingTestCas
 
     private final ExternalMessage externalMessageToMap;
     private final Adaptable expectedAdaptable;
-    private final MessageMapper messageMapper;
 
     IncomingPayloadMappingTestCase(final PayloadMappingFunction mappingFunction, final ExternalMessage externalMessageToMap,
             final Adaptable expectedAdaptable) {
         super(mappingFunction);
-        this.messageMapper = MessageMappers.createJavaScriptMessageMapper();
         this.externalMessageToMap = externalMessageToMap;
         this.expectedAdaptable = expectedAdaptable;
     }
 
     /**
-     * Uses the {@link #messageMapper} holding an incoming mapping function to map the {@link #externalMessageToMap} and
+     * Uses a {@link MessageMapper} holding an incoming mapping function to map the {@link #externalMessageToMap} and
      * expects the outcome to be {@link #expectedAdaptable}.
      *
-     * @param config the akka config to configure the {@link #messageMapper}.
-     * @param mappingConfig the config to configure the {@link #messageMapper}.
+     * @param config the akka config to configure the {@link MessageMapper}.
+     * @param mappingConfig the config to configure the {@link MessageMapper}.
+     * @param statisticsRecorder the recorder measuring the mapping call.
      */
     @Override
-    void run(final Config config, final JavaScriptMessageMapperConfiguration mappingConfig) {
-        messageMapper.configure(config, mappingConfig);
-        final Optional<Adaptable> mappedAdaptable = messageMapper.map(externalMessageToMap);
+    void run(final MappingConfig config, final JavaScriptMessageMapperConfiguration mappingConfig,
+            final MappingStatisticsRecorder statisticsRecorder) {
+        final MessageMapper messageMapper = newConfiguredMessageMapper(config, mappingConfig);
+        final List<Adaptable> mappedAdaptable =
+                statisticsRecorder.measure(() -> messageMapper.map(externalMessageToMap));
         assertThat(mappedAdaptable).contains(expectedAdaptable);
     }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.mappingfunction.testcase;
+
+import java.time.Duration;
+
+/**
+ * Immutable statistics about the mapping calls of a payload mapping test case, either for a window of consecutive
+ * messages or for the whole test case.
+ * <p>
+ * Latencies are measured around each call of the message mapper only, so the throughput is the number of mapped
+ * messages per second of time spent inside the mapper. Percentiles are approximations with a relative error below
+ * 7%, minimum, mean and maximum are exact. Allocated bytes are those allocated by the thread calling the mapper and
+ * are reported as {@code -1} if the JVM does not support measuring them.
+ * </p>
+ */
+public final class MappingStatistics {
+
+    private final String scope;
+    private final long mappedMessages;
+    private final Duration mappingTime;
+    private final Duration minLatency;
+    private final Duration meanLatency;
+    private final Duration medianLatency;
+    private final Duration p99Latency;
+    private final Duration maxLatency;
+    private final long meanAllocatedBytes;
+    private final long maxAllocatedBytes;
+
+    MappingStatistics(final String scope, final long mappedMessages, final Duration mappingTime,
+            final Duration minLatency, final Duration meanLatency, final Duration medianLatency,
+            final Duration p99Latency, final Duration maxLatency, final long meanAllocatedBytes,
+            final long maxAllocatedBytes) {
+        this.scope = scope;
+        this.mappedMessages = mappedMessages;
+        this.mappingTime = mappingTime;
+        this.minLatency = minLatency;
+        this.meanLatency = meanLatency;
+        this.medianLatency = medianLatency;
+        this.p99Latency = p99Latency;
+        this.maxLatency = maxLatency;
+        this.meanAllocatedBytes = meanAllocatedBytes;
+        this.maxAllocatedBytes = maxAllocatedBytes;
+    }
+
+    /**
+     * @return a description of the messages these statistics cover, e.g. {@code "window 3"} or {@code "total"}.
+     */
+    public String getScope() {
+        return scope;
+    }
+
+    /**
+     * @return the number of mapped messages.
+     */
+    public long getMappedMessages() {
+        return mappedMessages;
+    }
+
+    /**
+     * @return the sum of the latencies of all mapping calls.
+     */
+    public Duration getMappingTime() {
+        return mappingTime;
+    }
+
+    /**
+     * @return the latency of the fastest mapping call.
+     */
+    public Duration getMinLatency() {
+        return minLatency;
+    }
+
+    /**
+     * @return the mean latency of the mapping calls.
+     */
+    public Duration getMeanLatency() {
+        return meanLatency;
+    }
+
+    /**
+     * @return the approximated median latency of the mapping calls.
+     */
+    public Duration getMedianLatency() {
+        return medianLatency;
+    }
+
+    /**
+     * @return the approximated 99th percentile of the latency of the mapping calls.
+     */
+    public Duration getP99Latency() {
+        return p99Latency;
+    }
+
+    /**
+     * @return the latency of the slowest mapping call.
+     */
+    public Duration getMaxLatency() {
+        return maxLatency;
+    }
+
+    /**
+     * @return the mean number of bytes allocated per mapping call or {@code -1} if not measured.
+     */
+    public long getMeanAllocatedBytes() {
+        return meanAllocatedBytes;
+    }
+
+    /**
+     * @return the maximum number of bytes allocated by a single mapping call or {@code -1} if not measured.
+     */
+    public long getMaxAllocatedBytes() {
+        return maxAllocatedBytes;
+    }
+
+    /**
+     * @return the number of mapped messages per second of mapping time.
+     */
+    public double getThroughput() {
+        final long nanos = mappingTime.toNanos();
+        return nanos == 0 ? 0.0 : mappedMessages * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d messages, %.1f msg/s, latency min=%dus mean=%dus p50=%dus p99=%dus max=%dus, " +
+                        "allocated mean=%dB max=%dB",
+                scope, mappedMessages, getThroughput(), toMicros(minLatency), toMicros(meanLatency),
+                toMicros(medianLatency), toMicros(p99Latency), toMicros(maxLatency), meanAllocatedBytes,
+                maxAllocatedBytes);
+    }
+
+    private static long toMicros(final Duration duration) {
+        return duration.toNanos() / 1_000;
+    }
+}
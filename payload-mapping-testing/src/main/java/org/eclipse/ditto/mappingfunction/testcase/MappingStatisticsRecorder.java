@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.mappingfunction.testcase;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Measures the latency of the mapping calls of a single test case run and reports {@link MappingStatistics} per
+ * window of messages and in total. Memory usage is constant: latencies are collected in fixed size histograms
+ * instead of being kept per message.
+ * <p>
+ * If the JVM supports it, the bytes allocated by the current thread during each mapping call are measured as well
+ * and checked against an optional allocation budget.
+ * </p>
+ * <p>
+ * A recorder is confined to the thread running the test case.
+ * </p>
+ */
+final class MappingStatisticsRecorder {
+
+    /**
+     * Value of the allocation budget if no budget is enforced.
+     */
+    static final long UNLIMITED_ALLOCATION = Long.MAX_VALUE;
+
+    private static final com.sun.management.ThreadMXBean ALLOCATION_MX_BEAN = allocationMxBean();
+
+    private final int windowSize;
+    private final Consumer<MappingStatistics> statisticsConsumer;
+    private final long allocationBudgetBytes;
+    private final long threadId;
+    private final StatisticsAccumulator window;
+    private final StatisticsAccumulator total;
+
+    private int windowNumber;
+
+    MappingStatisticsRecorder(final int windowSize, final Consumer<MappingStatistics> statisticsConsumer,
+            final long allocationBudgetBytes) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("The window size must be positive: " + windowSize);
+        }
+        if (allocationBudgetBytes != UNLIMITED_ALLOCATION && ALLOCATION_MX_BEAN == null) {
+            throw new IllegalStateException("An allocation budget was configured, but this JVM does not support " +
+                    "measuring the memory allocated by a thread.");
+        }
+        this.windowSize = windowSize;
+        this.statisticsConsumer = statisticsConsumer;
+        this.allocationBudgetBytes = allocationBudgetBytes;
+        threadId = Thread.currentThread().getId();
+        window = new StatisticsAccumulator();
+        total = new StatisticsAccumulator();
+        windowNumber = 0;
+    }
+
+    /**
+     * Performs a single mapping call and records its latency and the bytes it allocated.
+     *
+     * @param mapping the mapping call.
+     * @param <T> the type of the mapping result.
+     * @return the result of the mapping call.
+     * @throws AssertionError if the mapping call allocated more bytes than the allocation budget.
+     */
+    <T> T measure(final Supplier<T> mapping) {
+        final long allocatedBefore = allocatedBytes();
+        final long start = System.nanoTime();
+        final T result = mapping.get();
+        final long latencyNanos = System.nanoTime() - start;
+        final long allocatedAfter = allocatedBytes();
+        final long allocated = allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore;
+        record(latencyNanos, allocated);
+        if (allocated > allocationBudgetBytes) {
+            throw new AssertionError(String.format("Mapping call #%d allocated %d bytes, which exceeds the " +
+                    "allocation budget of %d bytes.", total.count, allocated, allocationBudgetBytes));
+        }
+        return result;
+    }
+
+    private long allocatedBytes() {
+        return ALLOCATION_MX_BEAN == null ? -1 : ALLOCATION_MX_BEAN.getThreadAllocatedBytes(threadId);
+    }
+
+    private void record(final long latencyNanos, final long allocated) {
+        window.record(latencyNanos, allocated);
+        total.record(latencyNanos, allocated);
+        if (window.count == windowSize) {
+            reportWindow();
+        }
+    }
+
+    /**
+     * Reports the statistics of the last, possibly incomplete window and the statistics of all recorded mapping
+     * calls.
+     *
+     * @return the statistics of all recorded mapping calls.
+     */
+    MappingStatistics finish() {
+        if (window.count > 0 && windowNumber > 0) {
+            reportWindow();
+        }
+        final MappingStatistics totalStatistics = total.toStatistics("total");
+        statisticsConsumer.accept(totalStatistics);
+        return totalStatistics;
+    }
+
+    private void reportWindow() {
+        windowNumber++;
+        statisticsConsumer.accept(window.toStatistics("window " + windowNumber));
+        window.reset();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationMxBean() {
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean allocationMxBean = (com.sun.management.ThreadMXBean) threadMXBean;
+            if (allocationMxBean.isThreadAllocatedMemorySupported()) {
+                allocationMxBean.setThreadAllocatedMemoryEnabled(true);
+                return allocationMxBean;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Accumulates allocated bytes and latencies, the latter in a log-linear histogram with 8 sub-buckets per power
+     * of two, which bounds the relative error of percentiles to 1/16.
+     */
+    private static final class StatisticsAccumulator {
+
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+        private final long[] buckets = new long[(64 - SUB_BUCKET_BITS) * SUB_BUCKETS];
+
+        private long count;
+        private long sum;
+        private long min;
+        private long max;
+        private long allocatedBytes;
+        private long maxAllocatedBytes;
+
+        private StatisticsAccumulator() {
+            reset();
+        }
+
+        private void reset() {
+            Arrays.fill(buckets, 0L);
+            count = 0;
+            sum = 0;
+            min = Long.MAX_VALUE;
+            max = 0;
+            allocatedBytes = 0;
+            maxAllocatedBytes = 0;
+        }
+
+        private void record(final long nanos, final long allocated) {
+            final long value = Math.max(0L, nanos);
+            buckets[indexOf(value)]++;
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            if (allocated < 0 || allocatedBytes < 0) {
+                allocatedBytes = -1;
+                maxAllocatedBytes = -1;
+            } else {
+                allocatedBytes += allocated;
+                maxAllocatedBytes = Math.max(maxAllocatedBytes, allocated);
+            }
+        }
+
+        private static int indexOf(final long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            final int exponent = 63 - Long.numberOfLeadingZeros(value);
+            final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        private static long midpointOf(final int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            final int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            final long lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+            return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) / 2;
+        }
+
+        private long percentile(final double percentile) {
+            final long rank = Math.max(1L, (long) Math.ceil(count * percentile / 100.0));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return Math.min(max, Math.max(min, midpointOf(i)));
+                }
+            }
+            return max;
+        }
+
+        private MappingStatistics toStatistics(final String scope) {
+            if (count == 0) {
+                return new MappingStatistics(scope, 0, Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ZERO,
+                        Duration.ZERO, Duration.ZERO, 0, 0);
+            }
+            return new MappingStatistics(scope, count, Duration.ofNanos(sum), Duration.ofNanos(min),
+                    Duration.ofNanos(sum / count), Duration.ofNanos(percentile(50)),
+                    Duration.ofNanos(percentile(99)), Duration.ofNanos(max),
+                    allocatedBytes < 0 ? -1 : allocatedBytes / count, maxAllocatedBytes);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.mappingfunction.testcase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.eclipse.ditto.connectivity.api.ExternalMessage;
+import org.eclipse.ditto.connectivity.service.config.mapping.MappingConfig;
+import org.eclipse.ditto.connectivity.service.mapping.MessageMapper;
+import org.eclipse.ditto.connectivity.service.mapping.javascript.JavaScriptMessageMapperConfiguration;
+import org.eclipse.ditto.protocol.Adaptable;
+
+/**
+ * Test case for an outgoing payload mapping function which is applied to a stream of adaptables.
+ * <p>
+ * The n-th element of the expected stream holds all external messages the n-th adaptable is expected to be mapped
+ * to, in order. An empty list expects the adaptable to be dropped, several messages express a fan-out. Both streams
+ * are consumed lazily, so only the message currently being mapped is held in memory. As streams can only be
+ * consumed once, this test case can only be run once.
+ * </p>
+ */
+final class OutgoingBatchPayloadMappingTestCase extends AbstractPayloadMappingTestCase {
+
+    private final Stream<Adaptable> adaptablesToMap;
+    private final Stream<List<ExternalMessage>> expectedExternalMessages;
+
+    OutgoingBatchPayloadMappingTestCase(final PayloadMappingFunction mappingFunction,
+            final Stream<Adaptable> adaptablesToMap,
+            final Stream<List<ExternalMessage>> expectedExternalMessages) {
+        super(mappingFunction);
+        this.adaptablesToMap = adaptablesToMap;
+        this.expectedExternalMessages = expectedExternalMessages;
+    }
+
+    /**
+     * Uses a single {@link MessageMapper} holding an outgoing mapping function to map each of the
+     * {@link #adaptablesToMap} and expects the outcome to be the corresponding element of
+     * {@link #expectedExternalMessages}.
+     *
+     * @param config the akka config to configure the {@link MessageMapper}.
+     * @param mappingConfig the config to configure the {@link MessageMapper}.
+     * @param statisticsRecorder the recorder measuring each mapping call.
+     */
+    @Override
+    void run(final MappingConfig config, final JavaScriptMessageMapperConfiguration mappingConfig,
+            final MappingStatisticsRecorder statisticsRecorder) {
+        final MessageMapper messageMapper = newConfiguredMessageMapper(config, mappingConfig);
+        try (adaptablesToMap; expectedExternalMessages) {
+            final Iterator<Adaptable> adaptables = adaptablesToMap.iterator();
+            final Iterator<List<ExternalMessage>> expectations = expectedExternalMessages.iterator();
+            long index = 0;
+            while (adaptables.hasNext()) {
+                assertThat(expectations.hasNext())
+                        .as("expected external messages for adaptable #%d", index)
+                        .isTrue();
+                final Adaptable adaptableToMap = adaptables.next();
+                final List<ExternalMessage> expectedExternalMessage = expectations.next();
+                final List<ExternalMessage> mappedExternalMessages =
+                        statisticsRecorder.measure(() -> messageMapper.map(adaptableToMap));
+                assertThat(mappedExternalMessages)
+                        .as("external messages mapped from adaptable #%d", index)
+                        .containsExactlyElementsOf(expectedExternalMessage);
+                index++;
+            }
+            assertThat(expectations.hasNext())
+                    .as("more expected external messages than adaptables (%d)", index)
+                    .isFalse();
+        }
+    }
+}
@@ -20,7 +20,6 @@ import org.eclipse.ditto.connectivity.api.ExternalMessage;
 import org.eclipse.ditto.connectivity.service.config.mapping.MappingConfig;
 import org.eclipse.ditto.connectivity.service.mapping.MessageMapper;
 import org.eclipse.ditto.connectivity.service.mapping.javascript.JavaScriptMessageMapperConfiguration;
-import org.eclipse.ditto.connectivity.service.mapping.javascript.JavaScriptMessageMapperFactory;
 import org.eclipse.ditto.protocol.Adaptable;
 
 /**
@@ -30,27 +29,28 @@ final class OutgoingPayloadMappingTestCase extends AbstractPayloadMappingTestCas
 
     private final ExternalMessage expectedExternalMessage;
     private final Adaptable adaptableToMap;
-    private final MessageMapper messageMapper;
 
     OutgoingPayloadMappingTestCase(final PayloadMappingFunction mappingFunction, final Adaptable adaptableToMap,
             final ExternalMessage expectedExternalMessage) {
         super(mappingFunction);
-        this.messageMapper = JavaScriptMessageMapperFactory.createJavaScriptMessageMapperRhino();
         this.expectedExternalMessage = expectedExternalMessage;
         this.adaptableToMap = adaptableToMap;
     }
 
     /**
-     * Uses the {@link #messageMapper} holding an outgoing mapping function to map the {@link #adaptableToMap} and
+     * Uses a {@link MessageMapper} holding an outgoing mapping function to map the {@link #adaptableToMap} and
      * expects the outcome to be {@link #expectedExternalMessage}.
      *
-     * @param config the akka config to configure the {@link #messageMapper}.
-     * @param mappingConfig the config to configure the {@link #messageMapper}.
+     * @param config the akka config to configure the {@link MessageMapper}.
+     * @param mappingConfig the config to configure the {@link MessageMapper}.
+     * @param statisticsRecorder the recorder measuring the mapping call.
      */
     @Override
-    void run(final MappingConfig config, final JavaScriptMessageMapperConfiguration mappingConfig) {
-        messageMapper.configure(config, mappingConfig);
-        final List<ExternalMessage> mappedExternalMessage = messageMapper.map(adaptableToMap);
+    void run(final MappingConfig config, final JavaScriptMessageMapperConfiguration mappingConfig,
+            final MappingStatisticsRecorder statisticsRecorder) {
+        final MessageMapper messageMapper = newConfiguredMessageMapper(config, mappingConfig);
+        final List<ExternalMessage> mappedExternalMessage =
+                statisticsRecorder.measure(() -> messageMapper.map(adaptableToMap));
         assertThat(mappedExternalMessage).contains(expectedExternalMessage);
     }
 }
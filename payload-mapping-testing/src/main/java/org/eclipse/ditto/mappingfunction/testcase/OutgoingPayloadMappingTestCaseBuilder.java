@@ -10,6 +10,9 @@
  */
 package org.eclipse.ditto.mappingfunction.testcase;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 import org.eclipse.ditto.connectivity.api.ExternalMessage;
 import org.eclipse.ditto.protocol.Adaptable;
 
@@ -66,4 +69,59 @@ interface OutgoingPayloadMappingTestCaseBuilder extends AbstractPayloadMappingTe
             return new ConfigStep(outgoingMappingFunctionTestCase);
         }
     }
+
+    /**
+     * Responsible for providing a method to set the outgoing payload mapping function under test, which is applied to
+     * a stream of adaptables.
+     */
+    final class BatchPayloadMappingFunctionStep {
+
+        private final Stream<Adaptable> dittoMessages;
+
+        BatchPayloadMappingFunctionStep(final Stream<Adaptable> dittoMessages) {
+            this.dittoMessages = dittoMessages;
+        }
+
+        /**
+         * Sets the outgoing payload mapping function under test.
+         *
+         * @param mappingFunction the outgoing payload mapping function.
+         * @return the next step of the builder.
+         */
+        public ExpectedExternalMessagesStep mappedByJavascriptPayloadMappingFunction(
+                final PayloadMappingFunction mappingFunction) {
+            return new ExpectedExternalMessagesStep(mappingFunction, this.dittoMessages);
+        }
+    }
+
+    /**
+     * Responsible for providing a method to set the expected
+     * {@link ExternalMessage external messages} for each of a stream of adaptables after mapping.
+     */
+    final class ExpectedExternalMessagesStep {
+
+        private final PayloadMappingFunction mappingFunction;
+        private final Stream<Adaptable> adaptablesToMap;
+
+        ExpectedExternalMessagesStep(final PayloadMappingFunction mappingFunction,
+                final Stream<Adaptable> adaptablesToMap) {
+            this.mappingFunction = mappingFunction;
+            this.adaptablesToMap = adaptablesToMap;
+        }
+
+        /**
+         * Sets the expected {@link ExternalMessage external messages} for an outgoing mapping function. The n-th
+         * element of the stream holds the external messages the n-th adaptable is expected to be mapped to, in
+         * order. Use an empty list for adaptables which are expected to be dropped.
+         *
+         * @param expectedExternalMessages the expected ExternalMessages of each adaptable after payload mapping.
+         * @return the next step of the builder.
+         */
+        public ConfigStep areEqualTo(final Stream<List<ExternalMessage>> expectedExternalMessages) {
+            final OutgoingBatchPayloadMappingTestCase outgoingBatchMappingFunctionTestCase =
+                    new OutgoingBatchPayloadMappingTestCase(mappingFunction, adaptablesToMap,
+                            expectedExternalMessages);
+            return new ConfigStep(outgoingBatchMappingFunctionTestCase);
+        }
+    }
 }
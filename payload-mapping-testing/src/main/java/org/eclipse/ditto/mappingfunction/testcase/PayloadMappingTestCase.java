@@ -12,6 +12,9 @@
  */
 package org.eclipse.ditto.mappingfunction.testcase;
 
+import java.util.Map;
+import java.util.stream.Stream;
+
 import org.eclipse.ditto.connectivity.api.ExternalMessage;
 import org.eclipse.ditto.protocol.Adaptable;
 
@@ -43,4 +46,28 @@ public final class PayloadMappingTestCase {
             final Adaptable dittoMessage) {
         return new OutgoingPayloadMappingTestCaseBuilder.PayloadMappingFunctionStep(dittoMessage);
     }
+
+    /**
+     * Provides the first step of a builder for a mapping function test case to test outgoing payload mapping of a
+     * stream of Adaptables with a single mapper.
+     *
+     * @param dittoMessages the Adaptables which the payload mapping is applied on.
+     * @return the first step of the builder.
+     */
+    public static OutgoingPayloadMappingTestCaseBuilder.BatchPayloadMappingFunctionStep assertThatEach(
+            final Stream<Adaptable> dittoMessages) {
+        return new OutgoingPayloadMappingTestCaseBuilder.BatchPayloadMappingFunctionStep(dittoMessages);
+    }
+
+    /**
+     * Provides the first step of a builder for a mapping function test case which feeds generated byte payloads to
+     * an incoming payload mapping in order to find payloads making it fail or run slowly.
+     *
+     * @param headers the headers of each generated message, e.g. containing its content-type.
+     * @return the first step of the builder.
+     */
+    public static FuzzingPayloadMappingTestCaseBuilder.FuzzedPayloadsStep assertThatFuzzedBytePayloads(
+            final Map<String, String> headers) {
+        return new FuzzingPayloadMappingTestCaseBuilder.FuzzedPayloadsStep(headers);
+    }
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.mappingfunction.testcase;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonValue;
+import org.junit.AssumptionViolatedException;
+
+/**
+ * A local JSON file holding throughput and latency baselines of payload mapping test cases, keyed by test name.
+ * <p>
+ * Baselines are only recorded if the system property {@value #UPDATE_PROPERTY} is {@code true}, and test cases are
+ * only compared against them if the system property {@value #COMPARE_PROPERTY} is {@code true}. Compared test cases
+ * fail if the throughput dropped or the p99 latency rose by more than the configured tolerance, and are skipped if
+ * they have no baseline. Wall-clock throughput and latency depend on the machine and its load, so keep the file under
+ * version control, e.g. in {@code src/test/resources}, record it on the machine comparing against it and do not run
+ * other tests in parallel while recording or comparing.
+ * </p>
+ * <p>
+ * Instances are immutable. Access to a baseline file is serialized within the JVM, so test cases sharing a file may
+ * run in parallel.
+ * </p>
+ */
+public final class PerformanceBaseline {
+
+    /**
+     * Name of the system property which makes test cases record new baselines.
+     */
+    public static final String UPDATE_PROPERTY = "ditto.mapping.baseline.update";
+
+    /**
+     * Name of the system property which makes test cases compare their statistics against the recorded baselines.
+     */
+    public static final String COMPARE_PROPERTY = "ditto.mapping.baseline.compare";
+
+    private static final double DEFAULT_TOLERANCE = 0.2;
+    private static final ConcurrentMap<Path, Object> FILE_LOCKS = new ConcurrentHashMap<>();
+
+    private static final String THROUGHPUT = "throughput";
+    private static final String MAPPED_MESSAGES = "mappedMessages";
+    private static final String MEAN_LATENCY_NANOS = "meanLatencyNanos";
+    private static final String P99_LATENCY_NANOS = "p99LatencyNanos";
+    private static final String MEAN_ALLOCATED_BYTES = "meanAllocatedBytes";
+
+    private final Path file;
+    private final double tolerance;
+
+    private PerformanceBaseline(final Path file, final double tolerance) {
+        this.file = file;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Creates a baseline backed by the given JSON file with a tolerance of 20%. The file is created when the first
+     * baseline is recorded.
+     *
+     * @param file the file holding the baselines.
+     * @return the new instance.
+     */
+    public static PerformanceBaseline inFile(final Path file) {
+        return new PerformanceBaseline(file.toAbsolutePath().normalize(), DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Returns a copy of this baseline with the given tolerance.
+     *
+     * @param tolerance the fraction by which the throughput may drop below and the p99 latency may rise above the
+     * baseline, e.g. {@code 0.1} for 10%.
+     * @return the new instance.
+     */
+    public PerformanceBaseline withTolerance(final double tolerance) {
+        if (tolerance < 0.0 || tolerance >= 1.0) {
+            throw new IllegalArgumentException("The tolerance must be within [0, 1): " + tolerance);
+        }
+        return new PerformanceBaseline(file, tolerance);
+    }
+
+    /**
+     * Records the statistics as baseline of the test case if new baselines should be recorded, or compares them
+     * against the recorded baseline if comparisons are enabled. Does nothing otherwise.
+     *
+     * @param testName the name of the test case within the baseline file.
+     * @param statistics the statistics of all mapping calls of the test case.
+     * @throws AssertionError if the throughput dropped below or the p99 latency rose above the baseline by more than
+     * the tolerance.
+     * @throws AssumptionViolatedException if there is no baseline to compare with, which skips the test case.
+     */
+    void verify(final String testName, final MappingStatistics statistics) {
+        final boolean update = Boolean.getBoolean(UPDATE_PROPERTY);
+        if (!update && !Boolean.getBoolean(COMPARE_PROPERTY)) {
+            return;
+        }
+        synchronized (FILE_LOCKS.computeIfAbsent(file, path -> new Object())) {
+            final JsonObject baselines = readBaselines();
+            final JsonObject baseline = baselines.getValue(testName)
+                    .filter(JsonValue::isObject)
+                    .map(JsonValue::asObject)
+                    .orElse(null);
+            if (update) {
+                writeBaselines(baselines.setValue(testName, toJson(statistics)));
+            } else if (baseline == null) {
+                throw new AssumptionViolatedException(String.format("There is no baseline of <%s> in <%s> to " +
+                        "compare with. Record it with -D%s=true.", testName, file, UPDATE_PROPERTY));
+            } else {
+                compare(testName, statistics, baseline);
+            }
+        }
+    }
+
+    private void compare(final String testName, final MappingStatistics statistics, final JsonObject baseline) {
+        final double baselineThroughput = getNumber(testName, baseline, THROUGHPUT);
+        final double minimumThroughput = baselineThroughput * (1.0 - tolerance);
+        if (statistics.getThroughput() < minimumThroughput) {
+            throw new AssertionError(String.format("Throughput of <%s> dropped to %.1f msg/s, which is " +
+                            "more than %.0f%% below its baseline of %.1f msg/s (%s). Current run: %s",
+                    testName, statistics.getThroughput(), tolerance * 100, baselineThroughput, file,
+                    statistics));
+        }
+        final double baselineP99LatencyNanos = getNumber(testName, baseline, P99_LATENCY_NANOS);
+        final double maximumP99LatencyNanos = baselineP99LatencyNanos * (1.0 + tolerance);
+        final long p99LatencyNanos = statistics.getP99Latency().toNanos();
+        if (p99LatencyNanos > maximumP99LatencyNanos) {
+            throw new AssertionError(String.format("p99 latency of <%s> rose to %d ns, which is more than " +
+                            "%.0f%% above its baseline of %.0f ns (%s). Current run: %s",
+                    testName, p99LatencyNanos, tolerance * 100, baselineP99LatencyNanos, file, statistics));
+        }
+    }
+
+    private double getNumber(final String testName, final JsonObject baseline, final String key) {
+        return baseline.getValue(key)
+                .filter(JsonValue::isNumber)
+                .map(JsonValue::asDouble)
+                .orElseThrow(() -> new IllegalStateException(String.format(
+                        "Baseline of <%s> in <%s> has no numeric <%s>.", testName, file, key)));
+    }
+
+    private JsonObject readBaselines() {
+        if (!Files.exists(file)) {
+            return JsonFactory.newObject();
+        }
+        try {
+            return JsonFactory.newObject(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeBaselines(final JsonObject baselines) {
+        try {
+            final Path parent = file.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            final Path tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            Files.write(tempFile, baselines.toString().getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static JsonObject toJson(final MappingStatistics statistics) {
+        return JsonFactory.newObjectBuilder()
+                .set(THROUGHPUT, statistics.getThroughput())
+                .set(MAPPED_MESSAGES, statistics.getMappedMessages())
+                .set(MEAN_LATENCY_NANOS, statistics.getMeanLatency().toNanos())
+                .set(P99_LATENCY_NANOS, statistics.getP99Latency().toNanos())
+                .set(MEAN_ALLOCATED_BYTES, statistics.getMeanAllocatedBytes())
+                .build();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [file=" + file + ", tolerance=" + tolerance + "]";
+    }
+}
@@ -19,12 +19,22 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Helper class to load content from files within the classpath.
+ * <p>
+ * The content of a resource is read once and cached for the lifetime of the class loader, so this class may be used
+ * concurrently from tests running in parallel.
+ * </p>
  */
 public final class Resource {
 
+    private static final ConcurrentMap<String, String> CONTENT_CACHE = new ConcurrentHashMap<>();
+
     private final File resourceFile;
 
     /**
@@ -43,11 +53,20 @@ public final class Resource {
      * @throws IOException forwarded when opening the stream to the resource.
      */
     public String getContent() throws IOException {
-        try (InputStream in = Resource.class.getClassLoader().getResourceAsStream(resourceFile.getPath())) {
+        try {
+            return CONTENT_CACHE.computeIfAbsent(resourceFile.getPath(), Resource::readContent);
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static String readContent(final String path) {
+        try (InputStream in = Resource.class.getClassLoader().getResourceAsStream(path)) {
             if (in == null) {
-                throw new FileNotFoundException(String.format("File <%s> not found.", resourceFile.getPath()));
+                throw new FileNotFoundException(String.format("File <%s> not found.", path));
             }
-            final BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(in));
+            final BufferedReader bufferedReader =
+                    new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
             final StringBuilder fileContent = new StringBuilder();
             String lineContent;
             while ((lineContent = bufferedReader.readLine()) != null) {
@@ -55,6 +74,8 @@ public final class Resource {
                 fileContent.append("\n");
             }
             return fileContent.toString();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 }
@@ -87,6 +87,75 @@ public final class BytePayloadMappingTest {
     }
 
 
+    @Test
+    public void incomingBytePayloadMappingWithinAllocationBudget() throws IOException {
+        final Resource incomingMappingFunction = new Resource("BytePayloadMapping/incoming.js");
+        final PayloadMappingFunction underTest = PayloadMappingFunction.fromJavaScript(incomingMappingFunction.getContent());
+
+        final Map<String, String> headers = new HashMap<>();
+        headers.put("content-type", ContentTypes.APPLICATION_OCTET_STREAM.toString());
+        headers.put("device_id", "the-thing-id");
+
+        final byte[] bytePayload = new BigInteger("09EF03F72A", 16).toByteArray();
+        final ExternalMessage message = ExternalMessageFactory.newExternalMessageBuilder(headers)
+                .withBytes(bytePayload)
+                .build();
+
+        final Resource expectedAdaptableJsonResource = new Resource("BytePayloadMapping/expectedAdaptable.json");
+        final JsonObject expectedAdaptableJson = JsonFactory.newObject(expectedAdaptableJsonResource.getContent());
+        final Adaptable expectedAdaptable = ProtocolFactory
+                .jsonifiableAdaptableFromJson(expectedAdaptableJson)
+                .setDittoHeaders(DittoHeaders.of(headers));
+
+        PayloadMappingTestCase.assertThat(message)
+                .mappedByJavascriptPayloadMappingFunction(underTest)
+                .isEqualTo(expectedAdaptable)
+                .withAllocationBudget(16 * 1024 * 1024)
+                .reportStatisticsTo(Reports::print)
+                .verify();
+    }
+
+    @Test
+    public void incomingBytePayloadMappingOfFuzzedPayloads() throws IOException {
+        final Resource incomingMappingFunction = new Resource("BytePayloadMapping/incoming.js");
+        final PayloadMappingFunction underTest = PayloadMappingFunction.fromJavaScript(incomingMappingFunction.getContent());
+
+        final Map<String, String> headers = new HashMap<>();
+        headers.put("content-type", ContentTypes.APPLICATION_OCTET_STREAM.toString());
+        headers.put("device_id", "the-thing-id");
+
+        // the mapping function reads 5 bytes, shorter payloads are expected to fail
+        PayloadMappingTestCase.assertThatFuzzedBytePayloads(headers)
+                .withPayloadSizesBetween(5, 4096)
+                .withIterations(500)
+                .withSeed(42L)
+                .reportSlowestInputsTo(5, Reports::print)
+                .mappedByJavascriptPayloadMappingFunction(underTest)
+                .neverFails()
+                .verify();
+    }
+
+    @Test
+    public void incomingBytePayloadMappingWithByteBufferJsOfFuzzedPayloads() throws IOException {
+        final Resource incomingMappingFunction = new Resource("BytePayloadMapping/incomingWithByteBuffer.js");
+        final PayloadMappingFunction underTest = PayloadMappingFunction.fromJavaScript(incomingMappingFunction.getContent());
+
+        final Map<String, String> headers = new HashMap<>();
+        headers.put("content-type", ContentTypes.APPLICATION_OCTET_STREAM.toString());
+        headers.put("device_id", "the-thing-id");
+
+        // the mapping function reads 5 bytes, shorter payloads are expected to fail
+        PayloadMappingTestCase.assertThatFuzzedBytePayloads(headers)
+                .withPayloadSizesBetween(5, 4096)
+                .withIterations(500)
+                .withSeed(42L)
+                .reportSlowestInputsTo(5, Reports::print)
+                .mappedByJavascriptPayloadMappingFunction(underTest)
+                .neverFails()
+                .withByteBufferJs()
+                .verify();
+    }
+
     @Test
     public void outgoingBytePayloadMapping() throws IOException {
         final Resource outgoingMappingFunction = new Resource("BytePayloadMapping/outgoing.js");
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.mappingfunction.testcase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.connectivity.api.ExternalMessage;
+import org.eclipse.ditto.connectivity.api.ExternalMessageFactory;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.mappingfunction.testcase.PayloadMappingFunction;
+import org.eclipse.ditto.mappingfunction.testcase.PayloadMappingTestCase;
+import org.eclipse.ditto.mappingfunction.testcase.Resource;
+import org.eclipse.ditto.protocol.Adaptable;
+import org.eclipse.ditto.protocol.ProtocolFactory;
+import org.junit.Test;
+
+import akka.http.javadsl.model.ContentTypes;
+
+/**
+ * Verifies that payload mapping test cases do not interfere with each other when they are verified concurrently.
+ * Every task maps a message which is unique to the task, so a mapper or script scope shared between threads would
+ * show up as a mismatch of the expected outcome.
+ */
+public final class ParallelPayloadMappingTest {
+
+    private static final int TASKS_PER_THREAD = 25;
+
+    @Test
+    public void concurrentlyVerifiedTestCasesAreIsolated() throws Exception {
+        final int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        final CountDownLatch startSignal = new CountDownLatch(1);
+        try {
+            final List<Future<Void>> results = new ArrayList<>();
+            for (int i = 0; i < threads * TASKS_PER_THREAD; i++) {
+                final int taskNumber = i;
+                final Callable<Void> task = () -> {
+                    startSignal.await();
+                    if (taskNumber % 2 == 0) {
+                        verifyIncomingBytePayloadMapping("thing-" + taskNumber);
+                    } else {
+                        verifyOutgoingTextPayloadMapping("hello-" + taskNumber);
+                    }
+                    return null;
+                };
+                results.add(executorService.submit(task));
+            }
+            startSignal.countDown();
+
+            for (final Future<Void> result : results) {
+                try {
+                    result.get(1, TimeUnit.MINUTES);
+                } catch (final ExecutionException e) {
+                    throw new AssertionError("Concurrently verified test case failed.", e.getCause());
+                }
+            }
+            assertThat(results).allMatch(Future::isDone);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static void verifyIncomingBytePayloadMapping(final String deviceId) throws IOException {
+        final Resource incomingMappingFunction = new Resource("BytePayloadMapping/incoming.js");
+        final PayloadMappingFunction underTest = PayloadMappingFunction.fromJavaScript(incomingMappingFunction.getContent());
+
+        final Map<String, String> headers = new HashMap<>();
+        headers.put("content-type", ContentTypes.APPLICATION_OCTET_STREAM.toString());
+        headers.put("device_id", deviceId);
+
+        final byte[] bytePayload = new BigInteger("09EF03F72A", 16).toByteArray();
+        final ExternalMessage message = ExternalMessageFactory.newExternalMessageBuilder(headers)
+                .withBytes(bytePayload)
+                .build();
+
+        final Resource expectedAdaptableJsonResource = new Resource("BytePayloadMapping/expectedAdaptable.json");
+        final JsonObject expectedAdaptableJson = JsonFactory.newObject(expectedAdaptableJsonResource.getContent())
+                .setValue("topic", "the.namespace/" + deviceId + "/things/twin/commands/modify");
+        final Adaptable expectedAdaptable = ProtocolFactory
+                .jsonifiableAdaptableFromJson(expectedAdaptableJson)
+                .setDittoHeaders(DittoHeaders.of(headers));
+
+        PayloadMappingTestCase.assertThat(message)
+                .mappedByJavascriptPayloadMappingFunction(underTest)
+                .isEqualTo(expectedAdaptable)
+                .verify();
+    }
+
+    private static void verifyOutgoingTextPayloadMapping(final String value) throws IOException {
+        final Resource outgoingMappingFunction = new Resource("TextPayloadMapping/outgoing.js");
+        final PayloadMappingFunction underTest = PayloadMappingFunction.fromJavaScript(outgoingMappingFunction.getContent());
+
+        final Map<String, String> headers = new HashMap<>();
+        headers.put("content-type", ExternalMessage.PayloadType.TEXT.name());
+        headers.put("device_id", "the-device-id");
+
+        final ExternalMessage expectedExternalMessage = ExternalMessageFactory.newExternalMessageBuilder(headers)
+                .withText(value + "appendix")
+                .build();
+
+        final Resource outgoingJson = new Resource("TextPayloadMapping/outgoing.json");
+        final JsonObject adaptableJson = JsonFactory.newObject(outgoingJson.getContent())
+                .setValue("value", value);
+        final Adaptable adaptable = ProtocolFactory
+                .jsonifiableAdaptableFromJson(adaptableJson)
+                .setDittoHeaders(DittoHeaders.of(headers));
+
+        PayloadMappingTestCase.assertThat(adaptable)
+                .mappedByJavascriptPayloadMappingFunction(underTest)
+                .isEqualTo(expectedExternalMessage)
+                .verify();
+    }
+}
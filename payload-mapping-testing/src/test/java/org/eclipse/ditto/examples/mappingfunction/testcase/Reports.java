@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.examples.mappingfunction.testcase;
+
+/**
+ * Prints the statistics and reports of the test cases only if the system property {@value #PRINT_PROPERTY} is
+ * {@code true}, so that the regular build does not print them for every run.
+ */
+final class Reports {
+
+    static final String PRINT_PROPERTY = "ditto.mapping.statistics.print";
+
+    private Reports() {}
+
+    static void print(final Object report) {
+        if (Boolean.getBoolean(PRINT_PROPERTY)) {
+            System.out.println(report);
+        }
+    }
+}
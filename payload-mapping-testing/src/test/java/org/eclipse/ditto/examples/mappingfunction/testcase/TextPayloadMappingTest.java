@@ -13,8 +13,11 @@
 package org.eclipse.ditto.examples.mappingfunction.testcase;
 
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import org.eclipse.ditto.base.model.headers.DittoHeaders;
 import org.eclipse.ditto.connectivity.api.ExternalMessage;
@@ -23,6 +26,7 @@ import org.eclipse.ditto.json.JsonFactory;
 import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.mappingfunction.testcase.PayloadMappingFunction;
 import org.eclipse.ditto.mappingfunction.testcase.PayloadMappingTestCase;
+import org.eclipse.ditto.mappingfunction.testcase.PerformanceBaseline;
 import org.eclipse.ditto.mappingfunction.testcase.Resource;
 import org.eclipse.ditto.protocol.Adaptable;
 import org.eclipse.ditto.protocol.ProtocolFactory;
@@ -32,6 +36,10 @@ import akka.http.javadsl.model.ContentTypes;
 
 public final class TextPayloadMappingTest {
 
+    private static final PerformanceBaseline BASELINE =
+            PerformanceBaseline.inFile(Paths.get("src", "test", "resources", "mapping-performance-baselines.json"))
+                    .withTolerance(0.5);
+
     @Test
     public void incomingTextPayloadMapping() throws IOException {
         final Resource incomingMappingFunction = new Resource("TextPayloadMapping/incoming.js");
@@ -60,6 +68,35 @@ public final class TextPayloadMappingTest {
 
     }
 
+    @Test
+    public void incomingTextPayloadMappingThroughput() throws IOException {
+        final Resource incomingMappingFunction = new Resource("TextPayloadMapping/incoming.js");
+        final PayloadMappingFunction underTest = PayloadMappingFunction.fromJavaScript(incomingMappingFunction.getContent());
+
+        final Map<String, String> headers = new HashMap<>();
+        headers.put("content-type", ContentTypes.APPLICATION_JSON.toString());
+        headers.put("device_id", "the-thing-id");
+
+        final Resource incomingMessageJson = new Resource("TextPayloadMapping/incoming.json");
+        final ExternalMessage incomingMessage = ExternalMessageFactory.newExternalMessageBuilder(headers)
+                .withText(incomingMessageJson.getContent())
+                .build();
+
+        final Resource expectedAdaptableJsonResource = new Resource("TextPayloadMapping/expectedAdaptable.json");
+        final JsonObject expectedAdaptableJson = JsonFactory.newObject(expectedAdaptableJsonResource.getContent());
+        final Adaptable expectedAdaptable = ProtocolFactory
+                .jsonifiableAdaptableFromJson(expectedAdaptableJson)
+                .setDittoHeaders(DittoHeaders.of(headers));
+
+        PayloadMappingTestCase.assertThat(incomingMessage)
+                .mappedByJavascriptPayloadMappingFunction(underTest)
+                .isEqualTo(expectedAdaptable)
+                .withRepetitions(200)
+                .reportStatisticsTo(Reports::print)
+                .comparedToBaseline(BASELINE, "incomingTextPayloadMappingThroughput")
+                .verify();
+    }
+
     @Test
     public void outgoingTextPayloadMapping() throws IOException {
         final Resource outgoingMappingFunction = new Resource("TextPayloadMapping/outgoing.js");
@@ -84,4 +121,33 @@ public final class TextPayloadMappingTest {
                 .isEqualTo(expectedExternalMessage)
                 .verify();
     }
+
+    @Test
+    public void outgoingTextPayloadMappingOfManyMessages() throws IOException {
+        final Resource outgoingMappingFunction = new Resource("TextPayloadMapping/outgoing.js");
+        final PayloadMappingFunction underTest = PayloadMappingFunction.fromJavaScript(outgoingMappingFunction.getContent());
+
+        final Map<String, String> headers = new HashMap<>();
+        headers.put("content-type", ExternalMessage.PayloadType.TEXT.name());
+        headers.put("device_id", "the-device-id");
+
+        final Resource outgoingJson = new Resource("TextPayloadMapping/outgoing.json");
+        final JsonObject adaptableJson = JsonFactory.newObject(outgoingJson.getContent());
+        final int numberOfMessages = 5_000;
+
+        PayloadMappingTestCase.assertThatEach(IntStream.range(0, numberOfMessages)
+                .mapToObj(i -> ProtocolFactory
+                        .jsonifiableAdaptableFromJson(adaptableJson.setValue("value", "hello" + i))
+                        .setDittoHeaders(DittoHeaders.of(headers))))
+                .mappedByJavascriptPayloadMappingFunction(underTest)
+                .areEqualTo(IntStream.range(0, numberOfMessages)
+                        .mapToObj(i -> Collections.singletonList(
+                                ExternalMessageFactory.newExternalMessageBuilder(headers)
+                                        .withText("hello" + i + "appendix")
+                                        .build())))
+                .withStatisticsWindow(1_000)
+                .reportStatisticsTo(Reports::print)
+                .comparedToBaseline(BASELINE, "outgoingTextPayloadMappingOfManyMessages")
+                .verify();
+    }
 }
@@ -16,6 +16,8 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.plc4x.java.PlcDriverManager;
 import org.apache.plc4x.java.api.PlcConnection;
 import org.apache.plc4x.java.api.exceptions.PlcConnectionException;
+import org.apache.plc4x.java.api.messages.PlcReadRequest;
+import org.apache.plc4x.java.api.messages.PlcReadResponse;
 import org.apache.plc4x.java.api.messages.PlcSubscriptionEvent;
 import org.apache.plc4x.java.api.model.PlcConsumerRegistration;
 import org.apache.plc4x.java.api.model.PlcSubscriptionHandle;
@@ -31,16 +33,37 @@ import org.eclipse.ditto.client.configuration.MessagingConfiguration;
 import org.eclipse.ditto.client.configuration.WebSocketMessagingConfiguration;
 import org.eclipse.ditto.client.messaging.AuthenticationProviders;
 import org.eclipse.ditto.client.messaging.internal.WebSocketMessagingProvider;
+import org.eclipse.ditto.client.twin.TwinFeatureHandle;
+import org.eclipse.ditto.json.JsonArray;
+import org.eclipse.ditto.json.JsonArrayBuilder;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonObjectBuilder;
+import org.eclipse.ditto.json.JsonValue;
 import org.eclipse.ditto.model.things.Feature;
 import org.eclipse.ditto.model.things.Features;
 import org.eclipse.ditto.model.things.Thing;
 import org.eclipse.ditto.model.things.ThingId;
 import org.eclipse.ditto.signals.commands.things.exceptions.ThingNotAccessibleException;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 /**
@@ -57,15 +80,31 @@ public class Example {
     private static final String DITTO_PASSWORD = "ditto";
     private static final String THING_NAME = "org.pragmaticindustries:my-plc";
 
+    // Tags to read in each cycle, by the name of their property in the "live-data" feature
+    private static final Map<String, String> PLC4X_TAGS = new LinkedHashMap<>();
+    // Property listing the tags whose last read failed, so their values are known to be stale
+    private static final String FAILED_TAGS_PROPERTY = "failedTags";
+
 //    // Mocked
-//    private static final String PLC4X_FIELD_NAME = "pressure";
 //    private static final String PLC4X_PLC_ADDRESS = "mock:plc";
-//    private static final String PLC4X_FIELD_ADDRESS = "%DB:xxx";
+//    static {
+//        PLC4X_TAGS.put("pressure", "%DB:xxx");
+//        PLC4X_TAGS.put("temperature", "%DB:yyy");
+//    }
 
     // Real Siemens Device
-    private static final String PLC4X_FIELD_NAME = "pressure";
     private static final String PLC4X_PLC_ADDRESS = "s7://192.168.167.210/1/1";
-    private static final String PLC4X_FIELD_ADDRESS = "%DB555.DBD0:DINT";
+    static {
+        PLC4X_TAGS.put("pressure", "%DB555.DBD0:DINT");
+        PLC4X_TAGS.put("temperature", "%DB555.DBD4:REAL");
+    }
+
+    // Polling
+    private static final long POLL_INTERVAL_MS = 100;
+    private static final long READ_TIMEOUT_MS = 2_000;
+    private static final int MAX_IN_FLIGHT_WRITES = 8;
+    private static final long REPORT_INTERVAL_MS = 5_000;
+    private static final int POLLS = 100_000;
 
     public static void main(String[] args) throws ExecutionException, InterruptedException, PlcConnectionException {
         MessagingConfiguration configuration = WebSocketMessagingConfiguration.newBuilder()
@@ -107,17 +146,193 @@ public class Example {
 
         // Now start the loop
         try (PlcConnection connection = plcDriverManager.getConnection(PLC4X_PLC_ADDRESS)) {
-            for (int i = 1; i <= 100_000; i++) {
-                int value = connection.readRequestBuilder().addItem("item1", PLC4X_FIELD_ADDRESS).build().execute().get().getInteger("item1");
-                client.twin().forId(ThingId.of(THING_NAME)).forFeature("live-data").putProperty(PLC4X_FIELD_NAME, value).get();
-                System.out.println(client.twin().forId(ThingId.of(THING_NAME)).retrieve().get());
-                Thread.sleep(100);
-            }
+            new PollingLoop(connection, client.twin().forId(ThingId.of(THING_NAME)).forFeature("live-data"), POLLS).run();
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Polls all tags of the PLC on a fixed schedule and publishes their values to Ditto without waiting for the
+     * previous ones. Each poll is a single read request to the PLC and a single write of the properties to Ditto.
+     *
+     * A poll is skipped if the previous read of the PLC is still running, and its values are dropped if already
+     * {@link #MAX_IN_FLIGHT_WRITES} writes to Ditto are unacknowledged, so a slow PLC or Ditto never lets work pile up.
+     * A read which takes longer than {@link #READ_TIMEOUT_MS} fails, so a hanging PLC does not stop the polling.
+     * The achieved rate, the lag from the poll to the acknowledgement by Ditto and the first failure are reported
+     * regularly. Writes in which no tag could be read only republish stale values, they count as stale writes
+     * instead of updates and their lag is not measured.
+     */
+    private static final class PollingLoop {
+
+        private final PlcConnection connection;
+        private final TwinFeatureHandle feature;
+        private final PlcReadRequest request;
+        private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        private final Semaphore writeSlots = new Semaphore(MAX_IN_FLIGHT_WRITES);
+        private final AtomicBoolean reading = new AtomicBoolean();
+        private final AtomicLong polls = new AtomicLong();
+        private final LongAdder published = new LongAdder();
+        private final LongAdder staleWrites = new LongAdder();
+        private final LongAdder skippedPolls = new LongAdder();
+        private final LongAdder droppedValues = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder failedTagReads = new LongAdder();
+        private final LongAdder lagNanos = new LongAdder();
+        private final AtomicLong maxLagNanos = new AtomicLong();
+        private final AtomicReference<String> firstFailure = new AtomicReference<>();
+        // the last value read of each tag, reads complete one after another
+        private volatile JsonObject lastProperties = JsonObject.newBuilder().build();
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private final long maxPolls;
+        private long lastReport = System.nanoTime();
+
+        private PollingLoop(PlcConnection connection, TwinFeatureHandle feature, long maxPolls) {
+            this.connection = connection;
+            this.feature = feature;
+            this.maxPolls = maxPolls;
+            PlcReadRequest.Builder builder = connection.readRequestBuilder();
+            PLC4X_TAGS.forEach(builder::addItem);
+            request = builder.build();
+        }
+
+        private void run() throws InterruptedException {
+            scheduler.scheduleAtFixedRate(this::poll, 0, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            scheduler.scheduleAtFixedRate(this::report, REPORT_INTERVAL_MS, REPORT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            finished.await();
+            scheduler.shutdown();
+            // wait for the outstanding writes before reporting the last interval
+            if (writeSlots.tryAcquire(MAX_IN_FLIGHT_WRITES, 10, TimeUnit.SECONDS)) {
+                writeSlots.release(MAX_IN_FLIGHT_WRITES);
+            }
+            report();
+        }
+
+        private void poll() {
+            if (polls.incrementAndGet() > maxPolls) {
+                finished.countDown();
+                return;
+            }
+            long polledAt = System.nanoTime();
+            if (!reading.compareAndSet(false, true)) {
+                skippedPolls.increment();
+                return;
+            }
+            // an exception escaping this task would cancel the schedule
+            try {
+                CompletableFuture<? extends PlcReadResponse> read = request.execute();
+                ScheduledFuture<?> timeout = scheduler.schedule(() -> read.completeExceptionally(
+                    new TimeoutException("PLC did not answer within " + READ_TIMEOUT_MS + " ms")),
+                    READ_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                read.whenComplete((response, error) -> {
+                    timeout.cancel(false);
+                    reading.set(false);
+                    if (error != null) {
+                        fail("read", error);
+                    } else {
+                        publish(toProperties(response), polledAt, anyTagRead(response));
+                    }
+                });
+            } catch (RuntimeException e) {
+                reading.set(false);
+                fail("read", e);
+            }
+        }
+
+        private void fail(String operation, Throwable error) {
+            failures.increment();
+            firstFailure.compareAndSet(null, operation + " failed: " + error);
+        }
+
+        /**
+         * The properties replace all properties of the feature, as ditto-client 1.0 has no merge. A tag which could
+         * not be read therefore keeps its last value instead of being removed from the feature, and is listed in the
+         * {@code failedTags} property until it is read again.
+         */
+        private JsonObject toProperties(PlcReadResponse response) {
+            JsonObjectBuilder properties = JsonObject.newBuilder().setAll(lastProperties);
+            JsonArrayBuilder failed = JsonArray.newBuilder();
+            for (String tag : PLC4X_TAGS.keySet()) {
+                if (response.getResponseCode(tag) == PlcResponseCode.OK) {
+                    properties.set(tag, toJson(response.getObject(tag)));
+                } else {
+                    failed.add(tag);
+                    failedTagReads.increment();
+                    firstFailure.compareAndSet(null, "tag " + tag + " answered " + response.getResponseCode(tag));
+                }
+            }
+            properties.set(FAILED_TAGS_PROPERTY, failed.build());
+            lastProperties = properties.build();
+            return lastProperties;
+        }
+
+        private static boolean anyTagRead(PlcReadResponse response) {
+            for (String tag : PLC4X_TAGS.keySet()) {
+                if (response.getResponseCode(tag) == PlcResponseCode.OK) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static JsonValue toJson(Object value) {
+            if (value instanceof Boolean) {
+                return JsonValue.of((Boolean) value);
+            } else if (value instanceof Float || value instanceof Double || value instanceof BigDecimal) {
+                return JsonValue.of(((Number) value).doubleValue());
+            } else if (value instanceof Number && !(value instanceof BigInteger)) {
+                return JsonValue.of(((Number) value).longValue());
+            }
+            return JsonValue.of(String.valueOf(value));
+        }
+
+        private void publish(JsonObject properties, long polledAt, boolean fresh) {
+            if (!writeSlots.tryAcquire()) {
+                droppedValues.increment();
+                return;
+            }
+            try {
+                feature.setProperties(properties).whenComplete((ignored, error) -> {
+                    writeSlots.release();
+                    if (error != null) {
+                        fail("write", error);
+                        return;
+                    }
+                    if (!fresh) {
+                        staleWrites.increment();
+                        return;
+                    }
+                    long lag = System.nanoTime() - polledAt;
+                    published.increment();
+                    lagNanos.add(lag);
+                    maxLagNanos.accumulateAndGet(lag, Math::max);
+                });
+            } catch (RuntimeException e) {
+                writeSlots.release();
+                fail("write", e);
+            }
+        }
+
+        private synchronized void report() {
+            long now = System.nanoTime();
+            double seconds = (now - lastReport) / 1e9;
+            lastReport = now;
+            long count = published.sumThenReset();
+            long lag = lagNanos.sumThenReset();
+            System.out.printf("%.1f updates/s, lag avg %d ms max %d ms, %d stale writes, %d polls skipped, "
+                    + "%d values dropped, %d failures, %d failed tags%n",
+                count / seconds,
+                count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(lag / count),
+                TimeUnit.NANOSECONDS.toMillis(maxLagNanos.getAndSet(0)), staleWrites.sumThenReset(),
+                skippedPolls.sumThenReset(), droppedValues.sumThenReset(), failures.sumThenReset(),
+                failedTagReads.sumThenReset());
+            String failure = firstFailure.getAndSet(null);
+            if (failure != null) {
+                System.out.println("First failure: " + failure);
+            }
+        }
+    }
+
     private static void setupMock(PlcDriverManager plcDriverManager) throws PlcConnectionException {
         PlcMockConnection mockConnection = (PlcMockConnection) plcDriverManager.getConnection(PLC4X_PLC_ADDRESS);
         mockConnection.setDevice(new MockDevice() {